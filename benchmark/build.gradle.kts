@@ -0,0 +1,72 @@
+plugins {
+    id("fabric-loom")
+}
+
+val minecraft = project.property("minecraft.version").toString()
+val parchment = project.property("parchment.version").toString()
+val fabricLoader = project.property("fabric.loader.version").toString()
+val fabricAPI = project.property("fabric.api.version").toString()
+val badpackets = project.property("badpackets.version").toString()
+val jmh = project.property("jmh.version").toString()
+
+loom {
+    // disable Minecraft-altering loom features, so that we can have one less copy of Minecraft
+    interfaceInjection.enableDependencyInterfaceInjection.set(false)
+    interfaceInjection.getIsEnabled().set(false)
+    enableTransitiveAccessWideners.set(false)
+
+    runs {
+        remove(getByName("client"))
+        remove(getByName("server"))
+
+        // benchmarks run in-process on a dedicated server, as the library's mixins must be applied
+        create("benchmark") {
+            server()
+            name("Fabric: Benchmark")
+            runDir("run")
+            programArgs("--nogui")
+            property("dynamicdimensions.benchmark.results", file("build/results/jmh/results.json").absolutePath)
+            property("dynamicdimensions.benchmark.baseline", file("baselines/results.json").absolutePath)
+            appendProjectPathToConfigName.set(false)
+            ideConfigGenerated(true)
+        }
+    }
+}
+
+dependencies {
+    minecraft("com.mojang:minecraft:$minecraft")
+    mappings(if (parchment.isBlank()) loom.officialMojangMappings() else loom.layered {
+        officialMojangMappings()
+        parchment("org.parchmentmc.data:parchment-$parchment@zip")
+    })
+    modImplementation("net.fabricmc:fabric-loader:$fabricLoader")
+    implementation(project(":fabric", "namedElements"))
+
+    modImplementation(fabricApi.module("fabric-lifecycle-events-v1", fabricAPI))
+    modRuntimeOnly("net.fabricmc.fabric-api:fabric-api:$fabricAPI")
+    modRuntimeOnly("lol.bai:badpackets:fabric-$badpackets")
+
+    implementation("org.openjdk.jmh:jmh-core:$jmh")
+    annotationProcessor("org.openjdk.jmh:jmh-generator-annprocess:$jmh")
+}
+
+tasks.named("runBenchmark") {
+    val acceptEula = project.findProperty("benchmark.acceptEula")?.toString() == "true"
+    doFirst {
+        // the dedicated server refuses to start without an accepted EULA, which must be agreed to explicitly
+        val eula = file("run/eula.txt")
+        if (!eula.isFile || !eula.readText().contains("eula=true")) {
+            if (!acceptEula) {
+                throw GradleException("The benchmark server requires the Minecraft EULA (https://aka.ms/MinecraftEULA). " +
+                        "Pass -Pbenchmark.acceptEula=true to accept it, or set eula=true in ${eula.path}")
+            }
+            eula.apply { parentFile.mkdirs() }.writeText("eula=true\n")
+        }
+        file("build/results/jmh").mkdirs()
+    }
+}
+
+// benchmarks are not part of the published library
+tasks.withType<AbstractPublishToMaven>().configureEach {
+    enabled = false
+}
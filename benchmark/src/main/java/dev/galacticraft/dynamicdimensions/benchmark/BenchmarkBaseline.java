@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2021-2024 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.dynamicdimensions.benchmark;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares JMH JSON results against a recorded baseline.
+ * Both the primary score (time per operation) and the normalized allocation rate ({@code gc.alloc.rate.norm}) are checked.
+ */
+final class BenchmarkBaseline {
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+    /**
+     * Allocation differences below this many bytes per operation are noise (e.g. JMH's own bookkeeping).
+     */
+    private static final double ALLOCATION_SLACK = 64.0;
+
+    private BenchmarkBaseline() {}
+
+    private record Score(double time, double allocation) {
+    }
+
+    /**
+     * @param baseline  the recorded results
+     * @param results   the new results
+     * @param tolerance the allowed relative regression, e.g. {@code 0.25} for 25% slower
+     * @return {@code true} if no benchmark regressed
+     */
+    static boolean compare(@NotNull Path baseline, @NotNull Path results, double tolerance) throws IOException {
+        Map<String, Score> expected = read(baseline);
+        Map<String, Score> actual = read(results);
+
+        boolean passed = true;
+        for (Map.Entry<String, Score> entry : actual.entrySet()) {
+            Score before = expected.get(entry.getKey());
+            if (before == null) {
+                DynamicDimensionsBenchmarks.LOGGER.info("{}: not in the baseline", entry.getKey());
+                continue;
+            }
+            Score after = entry.getValue();
+            if (after.time() > before.time() * (1.0 + tolerance)) {
+                DynamicDimensionsBenchmarks.LOGGER.error("{}: time regressed from {} to {}", entry.getKey(), before.time(), after.time());
+                passed = false;
+            }
+            if (!Double.isNaN(before.allocation()) && after.allocation() > before.allocation() * (1.0 + tolerance) + ALLOCATION_SLACK) {
+                DynamicDimensionsBenchmarks.LOGGER.error("{}: allocation regressed from {} B/op to {} B/op", entry.getKey(), before.allocation(), after.allocation());
+                passed = false;
+            }
+        }
+        return passed;
+    }
+
+    private static @NotNull Map<String, Score> read(@NotNull Path path) throws IOException {
+        JsonArray runs;
+        try (Reader reader = Files.newBufferedReader(path)) {
+            runs = JsonParser.parseReader(reader).getAsJsonArray();
+        }
+
+        Map<String, Score> scores = new HashMap<>(runs.size());
+        for (JsonElement element : runs) {
+            JsonObject run = element.getAsJsonObject();
+            StringBuilder name = new StringBuilder(run.get("benchmark").getAsString());
+            if (run.has("params")) {
+                // sorted, so that the key does not depend on the order JMH wrote the parameters in
+                Map<String, String> params = new TreeMap<>();
+                run.getAsJsonObject("params").entrySet().forEach(param -> params.put(param.getKey(), param.getValue().getAsString()));
+                name.append(params);
+            }
+
+            double time = run.getAsJsonObject("primaryMetric").get("score").getAsDouble();
+            double allocation = Double.NaN;
+            JsonObject secondary = run.getAsJsonObject("secondaryMetrics");
+            if (secondary != null && secondary.has(ALLOCATION)) {
+                allocation = secondary.getAsJsonObject(ALLOCATION).get("score").getAsDouble();
+            }
+            scores.put(name.toString(), new Score(time, allocation));
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2021-2024 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.dynamicdimensions.benchmark;
+
+import dev.galacticraft.dynamicdimensions.api.DynamicDimensionRegistry;
+import net.minecraft.resources.ResourceLocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Existence checks against the running server, which guard every dimension creation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DimensionLookupBenchmark {
+    private static final ResourceLocation EXISTING = new ResourceLocation("minecraft", "the_nether");
+    private static final ResourceLocation MISSING = new ResourceLocation("benchmark", "missing");
+
+    private DynamicDimensionRegistry registry;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.registry = DynamicDimensionRegistry.from(DynamicDimensionsBenchmarks.server());
+    }
+
+    @Benchmark
+    public boolean anyDimensionExistsHit() {
+        return this.registry.anyDimensionExists(EXISTING);
+    }
+
+    @Benchmark
+    public boolean anyDimensionExistsMiss() {
+        return this.registry.anyDimensionExists(MISSING);
+    }
+
+    @Benchmark
+    public boolean dynamicDimensionExists() {
+        return this.registry.dynamicDimensionExists(MISSING);
+    }
+
+    @Benchmark
+    public boolean canCreateDimension() {
+        return this.registry.canCreateDimension(MISSING);
+    }
+}
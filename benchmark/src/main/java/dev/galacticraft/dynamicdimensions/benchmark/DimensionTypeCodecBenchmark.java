@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2021-2024 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.dynamicdimensions.benchmark;
+
+import com.mojang.serialization.DataResult;
+import dev.galacticraft.dynamicdimensions.impl.network.DimensionTypeCodec;
+import io.netty.buffer.Unpooled;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtOps;
+import net.minecraft.nbt.Tag;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.level.dimension.DimensionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding a dimension type: as NBT, which is how dimensions are deduplicated and persisted,
+ * and with the network codec used by the dimension packets.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DimensionTypeCodecBenchmark {
+    private DimensionType type;
+    private Tag encoded;
+    private FriendlyByteBuf buf;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.type = RegistryBenchmark.createType();
+        this.encoded = DimensionType.DIRECT_CODEC.encode(this.type, NbtOps.INSTANCE, new CompoundTag()).getOrThrow(false, error -> {});
+        this.buf = new FriendlyByteBuf(Unpooled.buffer());
+        DimensionTypeCodec.write(this.buf, this.type);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.buf.release();
+    }
+
+    @Benchmark
+    public DataResult<Tag> encodeNbt() {
+        return DimensionType.DIRECT_CODEC.encode(this.type, NbtOps.INSTANCE, new CompoundTag());
+    }
+
+    @Benchmark
+    public DataResult<DimensionType> decodeNbt() {
+        return DimensionType.DIRECT_CODEC.parse(NbtOps.INSTANCE, this.encoded);
+    }
+
+    @Benchmark
+    public FriendlyByteBuf writePacket() {
+        this.buf.clear();
+        DimensionTypeCodec.write(this.buf, this.type);
+        return this.buf;
+    }
+
+    @Benchmark
+    public DimensionType readPacket() {
+        this.buf.readerIndex(0);
+        return DimensionTypeCodec.read(this.buf);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2021-2024 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.dynamicdimensions.benchmark;
+
+import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.server.MinecraftServer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Runs the benchmarks once the (dedicated) server has started, then stops it.
+ * JMH runs in-process ({@code forks(0)}), as the library only works with its mixins applied.
+ * <p>
+ * System properties:
+ * <ul>
+ *     <li>{@code dynamicdimensions.benchmark.include} - regex of the benchmarks to run (default: all)</li>
+ *     <li>{@code dynamicdimensions.benchmark.results} - where to write the JMH JSON results</li>
+ *     <li>{@code dynamicdimensions.benchmark.baseline} - JMH JSON results to compare against</li>
+ *     <li>{@code dynamicdimensions.benchmark.record} - replace the baseline with the new results instead</li>
+ *     <li>{@code dynamicdimensions.benchmark.tolerance} - allowed relative regression (default: 0.25)</li>
+ * </ul>
+ * The process exits with status 1 if any benchmark regressed.
+ */
+public final class DynamicDimensionsBenchmarks implements ModInitializer {
+    static final Logger LOGGER = LoggerFactory.getLogger("DynamicDimensions Benchmarks");
+    private static @Nullable MinecraftServer server;
+
+    /**
+     * @return the server the benchmarks run on
+     */
+    static @NotNull MinecraftServer server() {
+        if (server == null) throw new IllegalStateException("Benchmarks must run on a started server");
+        return server;
+    }
+
+    @Override
+    public void onInitialize() {
+        ServerLifecycleEvents.SERVER_STARTED.register(started -> {
+            server = started;
+            Thread thread = new Thread(DynamicDimensionsBenchmarks::run, "Benchmark");
+            thread.start();
+        });
+    }
+
+    private static void run() {
+        MinecraftServer server = server();
+        int status = 0;
+        try {
+            Path results = Path.of(System.getProperty("dynamicdimensions.benchmark.results", "jmh-results.json"));
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .include(System.getProperty("dynamicdimensions.benchmark.include", DynamicDimensionsBenchmarks.class.getPackageName() + ".*Benchmark"))
+                    .forks(0)
+                    .addProfiler(GCProfiler.class)
+                    .result(results.toString())
+                    .resultFormat(ResultFormatType.JSON);
+            new Runner(options.build()).run();
+
+            String baseline = System.getProperty("dynamicdimensions.benchmark.baseline");
+            if (baseline != null) {
+                if (Boolean.getBoolean("dynamicdimensions.benchmark.record")) {
+                    Files.createDirectories(Path.of(baseline).toAbsolutePath().getParent());
+                    Files.copy(results, Path.of(baseline), StandardCopyOption.REPLACE_EXISTING);
+                    LOGGER.info("Recorded benchmark baseline at {}", baseline);
+                } else if (Files.exists(Path.of(baseline))) {
+                    double tolerance = Double.parseDouble(System.getProperty("dynamicdimensions.benchmark.tolerance", "0.25"));
+                    if (!BenchmarkBaseline.compare(Path.of(baseline), results, tolerance)) {
+                        status = 1;
+                    }
+                } else {
+                    LOGGER.warn("No benchmark baseline at {}, skipping comparison", baseline);
+                }
+            }
+        } catch (RunnerException | IOException | RuntimeException e) {
+            LOGGER.error("Failed to run benchmarks", e);
+            status = 1;
+        }
+
+        server.halt(true);
+        System.exit(status);
+    }
+}
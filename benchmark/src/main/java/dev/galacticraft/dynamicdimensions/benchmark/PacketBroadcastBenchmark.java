@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2021-2024 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.dynamicdimensions.benchmark;
+
+import dev.galacticraft.dynamicdimensions.impl.network.DimensionPacketBroadcaster;
+import dev.galacticraft.dynamicdimensions.impl.network.DimensionTypeCodec;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.dimension.DimensionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding a dimension creation packet and handing it to {@code players} players.
+ * {@code broadcast} is what the server does, {@code copyPerPlayer} is the previous approach of copying the packet for every player.
+ * Compare {@code gc.alloc.rate.norm} between player counts to see how allocation grows.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PacketBroadcastBenchmark {
+    private static final ResourceLocation ID = new ResourceLocation("benchmark", "dynamic");
+
+    @Param({"1", "10", "100", "500"})
+    public int players;
+
+    private List<Object> targets;
+    private DimensionType type;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.targets = new ArrayList<>(this.players);
+        for (int i = 0; i < this.players; i++) {
+            this.targets.add(new Object());
+        }
+        this.type = RegistryBenchmark.createType();
+    }
+
+    // same layout as the packet written by MinecraftServerMixin#announceDimension
+    private FriendlyByteBuf encode() {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        buf.writeResourceLocation(ID);
+        buf.writeResourceLocation(ID);
+        buf.writeBoolean(true);
+        buf.writeVarInt(0);
+        DimensionTypeCodec.write(buf, this.type);
+        return buf;
+    }
+
+    @Benchmark
+    public void broadcast(Blackhole blackhole) {
+        DimensionPacketBroadcaster.broadcast(this.targets, (target, duplicate) -> {
+            blackhole.consume(duplicate);
+            duplicate.release();
+        }, this.encode());
+    }
+
+    @Benchmark
+    public void copyPerPlayer(Blackhole blackhole) {
+        FriendlyByteBuf buf = this.encode();
+        for (Object ignored : this.targets) {
+            FriendlyByteBuf copy = new FriendlyByteBuf(buf.copy());
+            blackhole.consume(copy);
+            copy.release();
+        }
+        buf.release();
+    }
+}
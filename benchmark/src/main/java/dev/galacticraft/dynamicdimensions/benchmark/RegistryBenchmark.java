@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2021-2024 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.dynamicdimensions.benchmark;
+
+import com.mojang.serialization.Lifecycle;
+import dev.galacticraft.dynamicdimensions.impl.registry.RegistryUtil;
+import net.minecraft.core.Holder;
+import net.minecraft.core.MappedRegistry;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.BlockTags;
+import net.minecraft.util.valueproviders.UniformInt;
+import net.minecraft.world.level.dimension.BuiltinDimensionTypes;
+import net.minecraft.world.level.dimension.DimensionType;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adding and removing a dimension type in a frozen registry of {@code size} entries,
+ * as done whenever a dynamic dimension is created or deleted.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RegistryBenchmark {
+    private static final ResourceLocation ID = new ResourceLocation("benchmark", "dynamic");
+
+    public abstract static class RegistryState {
+        @Param({"10", "100", "1000", "10000", "50000"})
+        public int size;
+
+        MappedRegistry<DimensionType> registry;
+        DimensionType type;
+
+        @Setup(Level.Trial)
+        public void createRegistry() {
+            this.registry = new MappedRegistry<>(Registries.DIMENSION_TYPE, Lifecycle.stable());
+            for (int i = 0; i < this.size; i++) {
+                this.registry.register(ResourceKey.create(Registries.DIMENSION_TYPE, new ResourceLocation("benchmark", "type_" + i)), createType(), Lifecycle.stable());
+            }
+            this.registry.freeze();
+            this.type = createType();
+        }
+    }
+
+    /**
+     * The benchmarked id is not registered before each invocation.
+     */
+    @State(Scope.Thread)
+    public static class Absent extends RegistryState {
+        @TearDown(Level.Invocation)
+        public void remove() {
+            if (this.registry.containsKey(ID)) {
+                RegistryUtil.unregister(this.registry, ID);
+            }
+        }
+    }
+
+    /**
+     * The benchmarked id is registered before each invocation.
+     */
+    @State(Scope.Thread)
+    public static class Present extends RegistryState {
+        @Setup(Level.Invocation)
+        public void add() {
+            if (!this.registry.containsKey(ID)) {
+                RegistryUtil.registerUnfreeze(this.registry, ID, this.type);
+            }
+        }
+    }
+
+    @Benchmark
+    public Holder.Reference<DimensionType> registerUnfreeze(@NotNull Absent state) {
+        return RegistryUtil.registerUnfreeze(state.registry, ID, state.type);
+    }
+
+    @Benchmark
+    public Holder.Reference<DimensionType> registerUnfreezeExact(@NotNull Absent state) {
+        return RegistryUtil.registerUnfreezeExact(state.registry, state.size, ID, state.type);
+    }
+
+    @Benchmark
+    public void unregister(@NotNull Present state) {
+        RegistryUtil.unregister(state.registry, ID);
+    }
+
+    static @NotNull DimensionType createType() {
+        return new DimensionType(OptionalLong.empty(), true, false, false, true, 1.0, false, false, -64, 384, 384, BlockTags.INFINIBURN_OVERWORLD, BuiltinDimensionTypes.OVERWORLD_EFFECTS, 0.0F, new DimensionType.MonsterSettings(false, true, UniformInt.of(0, 7), 0));
+    }
+}
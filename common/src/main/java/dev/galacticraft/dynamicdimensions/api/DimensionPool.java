@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2021-2024 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.dynamicdimensions.api;
+
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Keeps a number of identical dynamic dimensions loaded ahead of time, so that they can be handed out without waiting.
+ * Each dimension of the pool lives in a slot with the ID {@code <pool id>/<index>}.
+ * Released dimensions are deleted and replaced by a fresh dimension on a later tick.
+ * Must only be used on the server thread.
+ *
+ * @see DynamicDimensionRegistry#createDimensionPool(ResourceLocation, net.minecraft.world.level.chunk.ChunkGenerator, net.minecraft.core.Holder, int)
+ * @since 0.7.0
+ */
+public interface DimensionPool {
+    /**
+     * Returns the ID of this pool.
+     *
+     * @return the ID of this pool
+     */
+    @NotNull ResourceLocation id();
+
+    /**
+     * Returns the number of slots in this pool.
+     *
+     * @return the number of slots in this pool
+     */
+    int size();
+
+    /**
+     * Returns the number of dimensions that are loaded and can be acquired immediately.
+     *
+     * @return the number of available dimensions
+     */
+    int available();
+
+    /**
+     * Takes a loaded dimension out of the pool.
+     *
+     * @return a loaded dimension, or {@code null} if none are available
+     */
+    @Nullable ServerLevel acquire();
+
+    /**
+     * Returns an acquired dimension to the pool. Its level data is deleted and the slot is refilled on a later tick.
+     *
+     * @param id      The ID of the acquired dimension.
+     * @param remover The method to remove players from the dimension.
+     * @return whether the dimension was acquired from this pool
+     */
+    boolean release(@NotNull ResourceLocation id, @Nullable PlayerRemover remover);
+
+    /**
+     * Deletes every available dimension and stops refilling the pool.
+     * Dimensions that are currently acquired are deleted once they are released.
+     *
+     * @param remover The method to remove players from the dimensions.
+     */
+    void close(@Nullable PlayerRemover remover);
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2021-2024 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.dynamicdimensions.api;
+
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+
+/**
+ * Decides which players are told about a dynamic dimension.
+ * Players that cannot see a dimension are told about it just before they are sent there.
+ *
+ * @see DynamicDimensionRegistry#setDimensionVisibility(ResourceLocation, DimensionVisibility)
+ * @since 0.7.0
+ */
+@FunctionalInterface
+public interface DimensionVisibility {
+    /**
+     * Makes a dimension visible to every player. This is the default.
+     */
+    DimensionVisibility ALL = (player, id) -> true;
+
+    /**
+     * Makes a dimension visible only to players that are sent there.
+     */
+    DimensionVisibility NONE = (player, id) -> false;
+
+    /**
+     * Called when a dimension is created, or when a player joins the server.
+     *
+     * @param player The player
+     * @param id     The ID of the dimension
+     * @return whether the player should be told about the dimension
+     */
+    boolean isVisible(ServerPlayer player, ResourceLocation id);
+}
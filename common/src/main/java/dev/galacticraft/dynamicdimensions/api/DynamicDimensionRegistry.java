@@ -22,6 +22,7 @@
 
 package dev.galacticraft.dynamicdimensions.api;
 
+import net.minecraft.core.Holder;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
@@ -31,6 +32,11 @@ import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * The registry for dynamic dimensions.
  * It is not possible to access the registry from the client.
@@ -115,6 +121,241 @@ public interface DynamicDimensionRegistry {
      */
     @Nullable ServerLevel loadDynamicDimension(@NotNull ResourceLocation id, @NotNull ChunkGenerator chunkGenerator, @NotNull DimensionType type);
 
+    /**
+     * Registers a new dimension that uses an existing or shared dimension type, and updates all clients with the new dimension.
+     * If world data already exists for this dimension it will be overwritten.
+     * Note: The dimension may not be loaded until the next tick.
+     * <p>
+     * If {@code type} is a reference to a registered dimension type (for example, a vanilla one), that type is used directly.
+     * Otherwise, the type is deduplicated by its contents: all dimensions created with structurally equal types share
+     * one dimension type registry entry, which is removed once the last dimension using it is removed.
+     * Dimension types owned by other dynamic dimensions cannot be shared.
+     *
+     * @param chunkGenerator The chunk generator.
+     * @param id             The ID of the dimension.
+     *                       This ID must be unique and unused in the {@link net.minecraft.core.registries.Registries#DIMENSION_TYPE} registry and the {@link net.minecraft.world.level.levelgen.WorldDimensions#dimensions()} registry.
+     * @param type           The dimension type, either a registered reference or a {@link Holder#direct(Object) direct holder}.
+     * @return the server level of the new dimension if successful, {@code null} otherwise.
+     * @see #loadDynamicDimension(ResourceLocation, ChunkGenerator, Holder) if you want to load previous data
+     * @since 0.7.0
+     */
+    @Nullable ServerLevel createDynamicDimension(@NotNull ResourceLocation id, @NotNull ChunkGenerator chunkGenerator, @NotNull Holder<DimensionType> type);
+
+    /**
+     * Registers a new dimension that uses an existing or shared dimension type, and updates all clients with the new dimension.
+     * If world data already exists for this dimension it will be used, otherwise it will be created.
+     * Note: The dimension may not be loaded until the next tick.
+     *
+     * @param chunkGenerator The chunk generator.
+     * @param id             The ID of the dimension.
+     *                       This ID must be unique and unused in the {@link net.minecraft.core.registries.Registries#DIMENSION_TYPE} registry and the {@link net.minecraft.world.level.levelgen.WorldDimensions#dimensions()} registry.
+     * @param type           The dimension type, either a registered reference or a {@link Holder#direct(Object) direct holder}.
+     * @return the server level of the new dimension if successful, {@code null} otherwise.
+     * @see #createDynamicDimension(ResourceLocation, ChunkGenerator, Holder) for how dimension types are shared
+     * @since 0.7.0
+     */
+    @Nullable ServerLevel loadDynamicDimension(@NotNull ResourceLocation id, @NotNull ChunkGenerator chunkGenerator, @NotNull Holder<DimensionType> type);
+
+    /**
+     * Registers a new dimension and updates all clients with the new dimension, without blocking the server thread.
+     * If world data already exists for this dimension it will be overwritten.
+     * Old world data is removed and the world directory is created on a background thread,
+     * after which the dimension type is registered (and encoded for clients) and the server level is built on the server thread,
+     * at the start of a later server tick.
+     * Must be called from the server thread.
+     *
+     * @param chunkGenerator The chunk generator.
+     * @param id             The ID of the dimension.
+     *                       This ID must be unique and unused in the {@link net.minecraft.core.registries.Registries#DIMENSION_TYPE} registry and the {@link net.minecraft.world.level.levelgen.WorldDimensions#dimensions()} registry.
+     * @param type           The dimension type.
+     * @return a future completing (on the server thread) with the server level of the new dimension if successful, or {@code null} otherwise.
+     * @see #createDynamicDimension(ResourceLocation, ChunkGenerator, DimensionType)
+     * @since 0.7.0
+     */
+    @NotNull CompletableFuture<@Nullable ServerLevel> createDynamicDimensionAsync(@NotNull ResourceLocation id, @NotNull ChunkGenerator chunkGenerator, @NotNull DimensionType type);
+
+    /**
+     * Registers a new dimension and updates all clients with the new dimension, without blocking the server thread.
+     * If world data already exists for this dimension it will be used, otherwise it will be created.
+     * The world directory is created on a background thread,
+     * after which the dimension type is registered (and encoded for clients) and the server level is built on the server thread,
+     * at the start of a later server tick.
+     * Must be called from the server thread.
+     *
+     * @param chunkGenerator The chunk generator.
+     * @param id             The ID of the dimension.
+     *                       This ID must be unique and unused in the {@link net.minecraft.core.registries.Registries#DIMENSION_TYPE dimension type} registry
+     *                       and the {@link net.minecraft.world.level.levelgen.WorldDimensions#dimensions() dimensions} registry.
+     * @param type           The dimension type.
+     * @return a future completing (on the server thread) with the server level of the new dimension if successful, or {@code null} otherwise.
+     * @see #loadDynamicDimension(ResourceLocation, ChunkGenerator, DimensionType)
+     * @since 0.7.0
+     */
+    @NotNull CompletableFuture<@Nullable ServerLevel> loadDynamicDimensionAsync(@NotNull ResourceLocation id, @NotNull ChunkGenerator chunkGenerator, @NotNull DimensionType type);
+
+    /**
+     * Registers a new dimension whose level data starts as a copy of a template, without blocking the server thread.
+     * Existing world data for this dimension is removed and the template is copied on a background thread,
+     * after which the dimension is registered at the start of a later server tick.
+     * Chunks that are not part of the template are generated by the chunk generator as usual.
+     * Must be called from the server thread.
+     *
+     * @param id             The ID of the dimension.
+     *                       This ID must be unique and unused in the {@link net.minecraft.core.registries.Registries#DIMENSION_TYPE} registry and the {@link net.minecraft.world.level.levelgen.WorldDimensions#dimensions()} registry.
+     * @param template       A dimension directory (containing {@code region}, {@code entities}, etc.) to copy the level data from.
+     *                       The template itself is never modified.
+     * @param chunkGenerator The chunk generator.
+     * @param type           The dimension type.
+     * @return a future completing (on the server thread) with the server level of the new dimension if successful, or {@code null} otherwise.
+     * @see #createDynamicDimensionAsync(ResourceLocation, ChunkGenerator, DimensionType)
+     * @since 0.7.0
+     */
+    @NotNull CompletableFuture<@Nullable ServerLevel> createDynamicDimensionFromTemplate(@NotNull ResourceLocation id, @NotNull Path template, @NotNull ChunkGenerator chunkGenerator, @NotNull DimensionType type);
+
+    /**
+     * Registers a dimension and updates all clients with the new dimension, without loading it.
+     * If world data already exists for this dimension it will be used, otherwise it will be created.
+     * The level of a dormant dimension is loaded the first time it is requested through {@link MinecraftServer#getLevel(net.minecraft.resources.ResourceKey)}
+     * (for example, when a player is teleported into it), and unloaded again once it has had no players or chunk tickets for a while.
+     * {@link dev.galacticraft.dynamicdimensions.api.event.DimensionAddedCallback} and {@link dev.galacticraft.dynamicdimensions.api.event.DimensionRemovedCallback}
+     * are invoked every time the level is loaded or unloaded.
+     *
+     * @param chunkGenerator The chunk generator.
+     * @param id             The ID of the dimension.
+     *                       This ID must be unique and unused in the {@link net.minecraft.core.registries.Registries#DIMENSION_TYPE dimension type} registry
+     *                       and the {@link net.minecraft.world.level.levelgen.WorldDimensions#dimensions() dimensions} registry.
+     * @param type           The dimension type.
+     * @return whether the dimension was registered
+     * @see #isDimensionDormant(ResourceLocation)
+     * @since 0.7.0
+     */
+    boolean registerDormantDynamicDimension(@NotNull ResourceLocation id, @NotNull ChunkGenerator chunkGenerator, @NotNull DimensionType type);
+
+    /**
+     * Returns whether a dynamic dimension is registered, but its level is not currently loaded.
+     *
+     * @param id The ID of the dimension.
+     * @return whether the dimension is dormant
+     * @see #registerDormantDynamicDimension(ResourceLocation, ChunkGenerator, DimensionType)
+     * @since 0.7.0
+     */
+    boolean isDimensionDormant(@NotNull ResourceLocation id);
+
+    /**
+     * Pins or unpins a dynamic dimension.
+     * Pinned dimensions are never unloaded automatically, whether they are dormant or idle,
+     * but can still be unloaded or deleted explicitly. Unloading a dimension removes its pin.
+     *
+     * @param id     The ID of the dimension.
+     * @param pinned Whether the dimension should be pinned.
+     * @return whether a dynamic dimension with the given id exists
+     * @see #isDimensionPinned(ResourceLocation)
+     * @since 0.7.0
+     */
+    boolean setDimensionPinned(@NotNull ResourceLocation id, boolean pinned);
+
+    /**
+     * Returns whether a dynamic dimension is pinned.
+     *
+     * @param id The ID of the dimension.
+     * @return whether the dimension is pinned
+     * @see #setDimensionPinned(ResourceLocation, boolean)
+     * @since 0.7.0
+     */
+    boolean isDimensionPinned(@NotNull ResourceLocation id);
+
+    /**
+     * Sets which players are told about a dynamic dimension.
+     * Players that cannot see the dimension never receive it or its dimension type, until they are teleported or respawn there.
+     * The visibility may be set before the dimension is created, so that it is never sent to other players.
+     * Players that were already told about the dimension keep it. Removing the dimension resets its visibility.
+     *
+     * @param id         The ID of the dimension.
+     * @param visibility Which players can see the dimension, or {@code null} to make it visible to all players.
+     * @see DimensionVisibility
+     * @since 0.7.0
+     */
+    void setDimensionVisibility(@NotNull ResourceLocation id, @Nullable DimensionVisibility visibility);
+
+    /**
+     * Generates the chunks around the spawn point of a dynamic dimension in the background, nearest chunks first.
+     * A limited number of chunks is requested every tick, and progress is reported to the level's chunk progress listener.
+     * Unless configured otherwise, players cannot be teleported into the dimension until generation has completed.
+     * The dimension is not unloaded for being idle while it is being generated.
+     *
+     * @param id     The ID of the dimension.
+     * @param radius The radius (in chunks) around the spawn chunk to generate.
+     * @return a future completing with {@code true} once every chunk has been generated,
+     * or {@code false} if the dimension does not exist, was unloaded before generation completed, or some chunks failed to generate.
+     * @since 0.7.0
+     */
+    @NotNull CompletableFuture<Boolean> pregenerateDynamicDimension(@NotNull ResourceLocation id, int radius);
+
+    /**
+     * Returns whether a dynamic dimension is currently being pre-generated.
+     *
+     * @param id The ID of the dimension.
+     * @return whether the dimension is being pre-generated
+     * @see #pregenerateDynamicDimension(ResourceLocation, int)
+     * @since 0.7.0
+     */
+    boolean isDimensionPregenerating(@NotNull ResourceLocation id);
+
+    /**
+     * Creates a pool of identical dimensions that are loaded ahead of time.
+     * Slots are filled over the following ticks. Dimensions left over from a previous pool with the same ID are deleted.
+     * The type should be a {@link Holder#direct(Object) direct holder} or a registered type, so that all dimensions of the pool share it.
+     *
+     * @param id        The ID of the pool.
+     * @param generator The chunk generator of the dimensions.
+     * @param type      The dimension type of the dimensions.
+     * @param size      The number of dimensions to keep loaded.
+     * @return the new pool
+     * @throws IllegalArgumentException if a pool with the given ID already exists, or the size is not positive
+     * @see DimensionPool
+     * @since 0.7.0
+     */
+    @NotNull DimensionPool createDimensionPool(@NotNull ResourceLocation id, @NotNull ChunkGenerator generator, @NotNull Holder<DimensionType> type, int size);
+
+    /**
+     * Returns the pool with the given ID.
+     *
+     * @param id The ID of the pool.
+     * @return the pool, or {@code null} if there is none or it was closed
+     * @since 0.7.0
+     */
+    @Nullable DimensionPool getDimensionPool(@NotNull ResourceLocation id);
+
+    /**
+     * Creates or loads several dimensions at once.
+     * Clients are sent the new dimensions and dimension type tags are synchronized once, after all dimensions are registered.
+     *
+     * @param specs The dimensions to create, in order.
+     * @return the server level of each new dimension (in the same order as {@code specs}), or {@code null} for dimensions that could not be created.
+     * @see #batch()
+     * @since 0.7.0
+     */
+    @NotNull List<@Nullable ServerLevel> createDynamicDimensions(@NotNull Collection<DimensionSpec> specs);
+
+    /**
+     * Starts a batch of dimension registrations.
+     * Until the returned batch is closed, dimensions created through this registry are not sent to clients
+     * and dimension type tags are not reloaded. Closing the batch sends all pending dimensions and reloads tags once.
+     * Batches may be nested, in which case updates are sent when the outermost batch is closed.
+     * Each batch must be closed exactly once, on the server thread.
+     *
+     * <pre>{@code
+     * try (DynamicDimensionRegistry.Batch batch = registry.batch()) {
+     *     registry.createDynamicDimension(...);
+     *     registry.createDynamicDimension(...);
+     * }
+     * }</pre>
+     *
+     * @return a new batch
+     * @since 0.7.0
+     */
+    @NotNull Batch batch();
+
     /**
      * Deletes a dynamic dimension from the server.
      * This may delete the dimension files permanently.
@@ -131,7 +372,7 @@ public interface DynamicDimensionRegistry {
     /**
      * Removes a dynamic dimension from the server, saving the level to disk.
      * Remaining players will be removed from the dimension using the provided player remover.
-     * Note: The dimension may not be unloaded until the next tick.
+     * Note: The dimension may not be unloaded until the next tick, and the level may be closed a few ticks later.
      *
      * @param id      The ID of the dimension.
      * @param remover The method to remove players from the dimension.
@@ -139,4 +380,45 @@ public interface DynamicDimensionRegistry {
      * @since 0.7.0
      */
     boolean unloadDynamicDimension(@NotNull ResourceLocation id, @Nullable PlayerRemover remover);
+
+    /**
+     * Removes a dynamic dimension from the server, saving the level to disk without blocking the server thread.
+     * The level is removed from the server immediately (or on the next tick), and is closed once its chunks have been written to disk.
+     * Remaining players will be removed from the dimension using the provided player remover.
+     *
+     * @param id      The ID of the dimension.
+     * @param remover The method to remove players from the dimension.
+     * @return a future completing (on the server thread) once the level has been closed, with whether a dimension with the given id was unloaded
+     * @see #unloadDynamicDimension(ResourceLocation, PlayerRemover)
+     * @since 0.7.0
+     */
+    @NotNull CompletableFuture<Boolean> unloadDynamicDimensionAsync(@NotNull ResourceLocation id, @Nullable PlayerRemover remover);
+
+    /**
+     * Describes a dynamic dimension to be created.
+     *
+     * @param id             The ID of the dimension.
+     * @param chunkGenerator The chunk generator.
+     * @param type           The dimension type.
+     * @param loadExisting   Whether existing world data should be loaded instead of overwritten.
+     * @see #createDynamicDimensions(Collection)
+     * @since 0.7.0
+     */
+    record DimensionSpec(@NotNull ResourceLocation id, @NotNull ChunkGenerator chunkGenerator, @NotNull DimensionType type, boolean loadExisting) {
+    }
+
+    /**
+     * A group of dimension registrations whose client updates are sent together.
+     *
+     * @see #batch()
+     * @since 0.7.0
+     */
+    @FunctionalInterface
+    interface Batch extends AutoCloseable {
+        /**
+         * Ends the batch, sending any pending dimension updates if this is the outermost batch.
+         */
+        @Override
+        void close();
+    }
 }
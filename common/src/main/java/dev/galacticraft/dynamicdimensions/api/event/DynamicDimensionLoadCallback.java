@@ -30,6 +30,8 @@ import net.minecraft.world.level.dimension.DimensionType;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.function.Supplier;
+
 /**
  * Called when a dynamic dimension is added.
  *
@@ -50,5 +52,20 @@ public interface DynamicDimensionLoadCallback {
     @FunctionalInterface
     interface DynamicDimensionLoader {
         void loadDynamicDimension(@NotNull ResourceLocation id, @NotNull ChunkGenerator chunkGenerator, @NotNull DimensionType type);
+
+        /**
+         * Loads a dimension whose chunk generator and type are created off-thread.
+         * The server's loader runs the suppliers in parallel, and registers all dimensions in the order they were loaded
+         * once every callback returns. Suppliers must not modify the dimension type or level stem registries.
+         * Dimensions whose suppliers throw are skipped. By default, the suppliers are run immediately.
+         *
+         * @param id             The ID of the dimension.
+         * @param chunkGenerator Creates the chunk generator, for example by decoding it.
+         * @param type           Creates the dimension type.
+         * @since 0.7.0
+         */
+        default void loadDynamicDimensionAsync(@NotNull ResourceLocation id, @NotNull Supplier<@NotNull ChunkGenerator> chunkGenerator, @NotNull Supplier<@NotNull DimensionType> type) {
+            this.loadDynamicDimension(id, chunkGenerator.get(), type.get());
+        }
     }
 }
@@ -35,4 +35,7 @@ public interface Constants {
 
     ResourceLocation CREATE_DIMENSION_PACKET = new ResourceLocation(MOD_ID, "create_dimension");
     ResourceLocation REMOVE_DIMENSION_PACKET = new ResourceLocation(MOD_ID, "remove_dimension");
+    ResourceLocation UPDATE_DIMENSION_TAGS_PACKET = new ResourceLocation(MOD_ID, "update_dimension_tags");
+    ResourceLocation DIMENSION_MANIFEST_PACKET = new ResourceLocation(MOD_ID, "dimension_manifest");
+    ResourceLocation DIMENSION_LEVELS_PACKET = new ResourceLocation(MOD_ID, "dimension_levels");
 }
\ No newline at end of file
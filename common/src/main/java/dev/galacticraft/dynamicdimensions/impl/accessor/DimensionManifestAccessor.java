@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2021-2024 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.dynamicdimensions.impl.accessor;
+
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+
+/**
+ * Syncs the dynamic dimensions of a server to players
+ */
+@ApiStatus.Internal
+public interface DimensionManifestAccessor {
+    /**
+     * Returns whether the given dimension type belongs to one or more dynamic dimensions.
+     * These types are left out of the vanilla registry sync and sent in the dimension manifest instead.
+     */
+    boolean dynamicDimensions$isDynamicType(@NotNull ResourceLocation id);
+
+    /**
+     * Sends the types of every dynamic dimension a joining player can see, before the login packet.
+     * The dimensions themselves are sent by {@link #dynamicDimensions$sendManifestLevels(ServerPlayer)}.
+     */
+    void dynamicDimensions$sendManifest(@NotNull ServerPlayer player);
+
+    /**
+     * Sends the dynamic dimensions a joining player can see, after the login packet.
+     */
+    void dynamicDimensions$sendManifestLevels(@NotNull ServerPlayer player);
+
+    /**
+     * Removes the dimensions a joining player cannot see from the level list of the login packet.
+     */
+    @NotNull Set<ResourceKey<Level>> dynamicDimensions$filterLoginLevels(@NotNull ServerPlayer player, @NotNull Set<ResourceKey<Level>> levels);
+
+    /**
+     * Tells a player about a dimension they could not see, as they are about to be sent there.
+     */
+    void dynamicDimensions$revealDimension(@NotNull ServerPlayer player, @NotNull ResourceKey<Level> key);
+
+    /**
+     * Returns whether a player has been told about a dimension that has a visibility.
+     */
+    boolean dynamicDimensions$isRevealedTo(@NotNull ServerPlayer player, @NotNull ResourceKey<Level> key);
+
+    /**
+     * Stops tracking which dimensions a leaving player knows about.
+     */
+    void dynamicDimensions$forgetPlayer(@NotNull ServerPlayer player);
+}
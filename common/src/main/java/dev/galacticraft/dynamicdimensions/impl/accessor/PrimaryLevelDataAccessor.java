@@ -27,12 +27,12 @@ import net.minecraft.world.level.Level;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.List;
+import java.util.Set;
 
 /**
  * Saves and loads dynamic dimension registrations from the world file
  */
 @ApiStatus.Internal
 public interface PrimaryLevelDataAccessor {
-    void dynamicDimensions$setDynamicList(@NotNull List<ResourceKey<Level>> dynamicDimensions);
+    void dynamicDimensions$setDynamicDimensions(@NotNull Set<ResourceKey<Level>> dynamicDimensions);
 }
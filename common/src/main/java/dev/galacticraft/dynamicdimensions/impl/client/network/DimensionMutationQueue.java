@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2021-2024 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.dynamicdimensions.impl.client.network;
+
+import dev.galacticraft.dynamicdimensions.impl.registry.RegistryUtil;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientPacketListener;
+import net.minecraft.core.Registry;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.level.dimension.DimensionType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects dimension changes received from the server and applies them together, once per frame.
+ * A dimension that is added and removed again before the changes are applied is never registered.
+ * Consecutive removals are applied as a single registry update.
+ * Only the mutations of the current connection are kept; a new connection discards those of the previous one.
+ */
+final class DimensionMutationQueue {
+    private static final List<Mutation> QUEUE = new ArrayList<>();
+    private static @Nullable ClientPacketListener owner = null; // the connection the queued mutations belong to
+    private static boolean scheduled = false;
+
+    private DimensionMutationQueue() {}
+
+    static void enqueue(@NotNull Minecraft client, @NotNull ClientPacketListener handler, @NotNull Mutation mutation) {
+        synchronized (QUEUE) {
+            if (owner != handler) {
+                // anything left over belongs to a previous connection
+                QUEUE.clear();
+                owner = handler;
+            }
+            QUEUE.add(mutation);
+            if (scheduled) return;
+            scheduled = true;
+        }
+        client.execute(() -> apply(client));
+    }
+
+    /**
+     * Drops the mutations of a connection that was closed.
+     */
+    static void clear(@NotNull ClientPacketListener handler) {
+        synchronized (QUEUE) {
+            if (owner == handler) {
+                QUEUE.clear();
+                owner = null;
+            }
+        }
+    }
+
+    private static void apply(@NotNull Minecraft client) {
+        final ClientPacketListener handler;
+        final List<Mutation> mutations;
+        synchronized (QUEUE) {
+            handler = owner;
+            mutations = new ArrayList<>(QUEUE);
+            QUEUE.clear();
+            scheduled = false;
+        }
+        if (handler == null || !handler.getConnection().isConnected()) return; // disconnected in the meantime
+
+        cancelAddedAndRemoved(mutations);
+
+        final Registry<DimensionType> registry = handler.registryAccess().registryOrThrow(Registries.DIMENSION_TYPE);
+        final List<ResourceLocation> removedTypes = new ArrayList<>();
+        for (int i = 0; i < mutations.size(); i++) {
+            final Mutation mutation = mutations.get(i);
+            if (handler.levels() == null && (mutation instanceof Add || mutation instanceof Remove)) {
+                // the level list only exists once the login packet has been handled, which is already queued behind this task
+                if (!removedTypes.isEmpty()) {
+                    RegistryUtil.unregister(registry, removedTypes);
+                    removedTypes.clear();
+                }
+                requeue(client, handler, mutations.subList(i, mutations.size()));
+                return;
+            }
+
+            if (mutation instanceof Remove remove) {
+                if (remove.typeId() != null) removedTypes.add(remove.typeId());
+                handler.levels().remove(ResourceKey.create(Registries.DIMENSION, remove.id()));
+                continue;
+            } else if (!removedTypes.isEmpty()) {
+                RegistryUtil.unregister(registry, removedTypes);
+                removedTypes.clear();
+            }
+
+            if (mutation instanceof AddType add) {
+                if (!registry.containsKey(add.typeId())) { // the manifest may repeat known types
+                    RegistryUtil.registerUnfreezeExact(registry, add.rawTypeId(), add.typeId(), add.type());
+                }
+            } else if (mutation instanceof Add add) {
+                if (add.type() != null && !registry.containsKey(add.typeId())) { // the manifest may repeat known types
+                    RegistryUtil.registerUnfreezeExact(registry, add.rawTypeId(), add.typeId(), add.type());
+                }
+                handler.levels().add(ResourceKey.create(Registries.DIMENSION, add.id()));
+            } else if (mutation instanceof UpdateTags update) {
+                update.tags().forEach((id, keys) -> {
+                    if (registry.containsKey(id)) RegistryUtil.bindTags(registry, id, keys); // may have been cancelled
+                });
+            }
+        }
+        if (!removedTypes.isEmpty()) {
+            RegistryUtil.unregister(registry, removedTypes);
+        }
+    }
+
+    /**
+     * Puts mutations back at the front of the queue, to be applied after the tasks that are already scheduled.
+     */
+    private static void requeue(@NotNull Minecraft client, @NotNull ClientPacketListener handler, @NotNull List<Mutation> mutations) {
+        synchronized (QUEUE) {
+            if (owner != handler) return; // replaced by a new connection
+            QUEUE.addAll(0, mutations);
+            if (scheduled) return;
+            scheduled = true;
+        }
+        client.tell(() -> apply(client));
+    }
+
+    /**
+     * Removes dimensions that are added and then removed again, as long as the removal undoes everything the addition did.
+     */
+    private static void cancelAddedAndRemoved(@NotNull List<Mutation> mutations) {
+        final Map<ResourceLocation, Integer> lastChange = new HashMap<>();
+        for (int i = 0; i < mutations.size(); i++) {
+            Mutation mutation = mutations.get(i);
+            if (mutation instanceof Add add) {
+                lastChange.put(add.id(), i);
+            } else if (mutation instanceof Remove remove) {
+                Integer index = lastChange.remove(remove.id());
+                if (index != null && mutations.get(index) instanceof Add add
+                        && (add.type() == null ? remove.typeId() == null : add.typeId().equals(remove.typeId()))) {
+                    mutations.set(index, null);
+                    mutations.set(i, null);
+                } else {
+                    lastChange.put(remove.id(), i);
+                }
+            }
+        }
+        mutations.removeIf(mutation -> mutation == null);
+    }
+
+    sealed interface Mutation permits AddType, Add, Remove, UpdateTags {
+    }
+
+    /**
+     * Registers a dimension type without adding a level, for types that are needed before the player has logged in.
+     */
+    record AddType(@NotNull ResourceLocation typeId, int rawTypeId, @NotNull DimensionType type) implements Mutation {
+    }
+
+    record Add(@NotNull ResourceLocation id, @NotNull ResourceLocation typeId, int rawTypeId, @Nullable DimensionType type) implements Mutation {
+    }
+
+    record Remove(@NotNull ResourceLocation id, @Nullable ResourceLocation typeId) implements Mutation {
+    }
+
+    record UpdateTags(@NotNull Map<ResourceLocation, List<TagKey<DimensionType>>> tags) implements Mutation {
+    }
+}
@@ -23,40 +23,76 @@
 package dev.galacticraft.dynamicdimensions.impl.client.network;
 
 import dev.galacticraft.dynamicdimensions.impl.Constants;
-import dev.galacticraft.dynamicdimensions.impl.registry.RegistryUtil;
+import dev.galacticraft.dynamicdimensions.impl.network.DimensionTypeCodec;
 import lol.bai.badpackets.api.play.PlayPackets;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.multiplayer.ClientPacketListener;
 import net.minecraft.core.registries.Registries;
-import net.minecraft.nbt.NbtOps;
 import net.minecraft.network.FriendlyByteBuf;
-import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagKey;
 import net.minecraft.world.level.dimension.DimensionType;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 public final class DynamicDimensionsS2CPacketReceivers {
     public static void registerReceivers() {
         PlayPackets.registerClientReceiver(Constants.CREATE_DIMENSION_PACKET, (client, handler, buf, responseSender) -> createDynamicDimension(client, handler, buf));
         PlayPackets.registerClientReceiver(Constants.REMOVE_DIMENSION_PACKET, (client, handler, buf, responseSender) -> removeDynamicDimension(client, handler, buf));
+        PlayPackets.registerClientReceiver(Constants.UPDATE_DIMENSION_TAGS_PACKET, (client, handler, buf, responseSender) -> updateDimensionTags(client, handler, buf));
+        PlayPackets.registerClientReceiver(Constants.DIMENSION_MANIFEST_PACKET, (client, handler, buf, responseSender) -> readDimensionManifest(client, handler, buf));
+        PlayPackets.registerClientReceiver(Constants.DIMENSION_LEVELS_PACKET, (client, handler, buf, responseSender) -> readDimensionLevels(client, handler, buf));
+    }
+
+    /**
+     * Discards dimension changes that were received but not applied before the connection closed.
+     */
+    public static void onDisconnect(@NotNull ClientPacketListener handler) {
+        DimensionMutationQueue.clear(handler);
     }
 
     private static void createDynamicDimension(@NotNull Minecraft client, @NotNull ClientPacketListener handler, @NotNull FriendlyByteBuf buf) {
         ResourceLocation id = buf.readResourceLocation();
-        int rawId = buf.readInt();
-        DimensionType type = DimensionType.DIRECT_CODEC.decode(NbtOps.INSTANCE, buf.readNbt()).get().orThrow().getFirst();
-        client.execute(() -> {
-            RegistryUtil.registerUnfreezeExact(handler.registryAccess().registryOrThrow(Registries.DIMENSION_TYPE), rawId, id, type);
-            handler.levels().add(ResourceKey.create(Registries.DIMENSION, id));
-        });
+        ResourceLocation typeId = buf.readResourceLocation();
+        boolean newType = buf.readBoolean();
+        int rawId = newType ? buf.readVarInt() : -1;
+        DimensionType type = newType ? DimensionTypeCodec.read(buf) : null;
+        DimensionMutationQueue.enqueue(client, handler, new DimensionMutationQueue.Add(id, typeId, rawId, type));
     }
 
     private static void removeDynamicDimension(@NotNull Minecraft client, @NotNull ClientPacketListener handler, @NotNull FriendlyByteBuf buf) {
         ResourceLocation id = buf.readResourceLocation();
-        client.execute(() -> {
-            RegistryUtil.unregister(handler.registryAccess().registryOrThrow(Registries.DIMENSION_TYPE), id);
-            handler.levels().remove(ResourceKey.create(Registries.DIMENSION, id));
-        });
+        ResourceLocation typeId = buf.readBoolean() ? buf.readResourceLocation() : null;
+        DimensionMutationQueue.enqueue(client, handler, new DimensionMutationQueue.Remove(id, typeId));
+    }
+
+    private static void updateDimensionTags(@NotNull Minecraft client, @NotNull ClientPacketListener handler, @NotNull FriendlyByteBuf buf) {
+        Map<ResourceLocation, List<TagKey<DimensionType>>> tags = buf.readMap(FriendlyByteBuf::readResourceLocation, b -> b.readList(b1 -> TagKey.create(Registries.DIMENSION_TYPE, b1.readResourceLocation())));
+        DimensionMutationQueue.enqueue(client, handler, new DimensionMutationQueue.UpdateTags(tags));
+    }
+
+    private static void readDimensionManifest(@NotNull Minecraft client, @NotNull ClientPacketListener handler, @NotNull FriendlyByteBuf buf) {
+        int size = buf.readVarInt();
+        Map<ResourceLocation, List<TagKey<DimensionType>>> tags = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            ResourceLocation typeId = buf.readResourceLocation();
+            int rawId = buf.readVarInt();
+            DimensionType type = DimensionTypeCodec.read(buf);
+            tags.put(typeId, buf.readList(b -> TagKey.create(Registries.DIMENSION_TYPE, b.readResourceLocation())));
+            DimensionMutationQueue.enqueue(client, handler, new DimensionMutationQueue.AddType(typeId, rawId, type));
+        }
+        DimensionMutationQueue.enqueue(client, handler, new DimensionMutationQueue.UpdateTags(tags));
     }
 
+    private static void readDimensionLevels(@NotNull Minecraft client, @NotNull ClientPacketListener handler, @NotNull FriendlyByteBuf buf) {
+        int size = buf.readVarInt();
+        for (int i = 0; i < size; i++) {
+            ResourceLocation id = buf.readResourceLocation();
+            ResourceLocation typeId = buf.readResourceLocation();
+            DimensionMutationQueue.enqueue(client, handler, new DimensionMutationQueue.Add(id, typeId, -1, null));
+        }
+    }
 }
@@ -26,6 +26,8 @@ import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.exceptions.SimpleCommandExceptionType;
 import dev.galacticraft.dynamicdimensions.api.DynamicDimensionRegistry;
 import dev.galacticraft.dynamicdimensions.impl.Constants;
+import dev.galacticraft.dynamicdimensions.impl.accessor.DimensionQueueAccessor;
+import dev.galacticraft.dynamicdimensions.impl.internal.DimensionQueueStats;
 import net.minecraft.commands.CommandBuildContext;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
@@ -55,7 +57,7 @@ import org.jetbrains.annotations.NotNull;
 import java.util.OptionalLong;
 
 /**
- * Commands for creating, unloading, and deleting dynamic dimensions
+ * Commands for creating, unloading, and deleting dynamic dimensions, and for inspecting the dimension queues
  */
 @ApiStatus.Internal
 public final class DynamicDimensionsCommands {
@@ -135,6 +137,14 @@ public final class DynamicDimensionsCommands {
                                         }
                                         return 1;
                                     })))
+                    .then(Commands.literal("queue")
+                            .executes(ctx -> {
+                                DimensionQueueStats stats = ((DimensionQueueAccessor) ctx.getSource().getServer()).dynamicDimensions$getQueueStats();
+                                ctx.getSource().sendSuccess(() -> Component.translatable("command.dynamicdimensions.queue.status",
+                                        stats.pendingCreations(), stats.pendingLevels(), stats.pendingDeletions(), stats.closingLevels(),
+                                        stats.idleUnloads(), stats.carriedOver(), stats.totalCarriedOver()), false);
+                                return stats.pendingCreations() + stats.pendingLevels() + stats.pendingDeletions() + stats.closingLevels() + stats.idleUnloads();
+                            }))
                     .then(Commands.literal("unload")
                             .then(Commands.argument("id", DimensionArgument.dimension())
                                     .executes(ctx -> {
@@ -26,13 +26,68 @@ public interface DynamicDimensionsConfig {
     default void applyDefaultValues() {
         enableCommands(false);
         commandPermissionLevel(2);
+        maxDimensionCommitsPerTick(2);
+        dormantIdleTicks(1200);
+        idleUnloadTicks(0);
+        maxIdleUnloadsPerTick(1);
+        deletionFilesPerSecond(256);
+        maxQueueMillisPerTick(5);
+        maxQueueOperationsPerTick(8);
+        pregenerationChunksPerTick(16);
+        admitPlayersWhilePregenerating(false);
+        persistDynamicDimensions(false);
+        deferLoadedDimensions(false);
     }
 
     boolean enableCommands();
 
     int commandPermissionLevel();
 
+    int maxDimensionCommitsPerTick();
+
+    int dormantIdleTicks();
+
+    int idleUnloadTicks();
+
+    int maxIdleUnloadsPerTick();
+
+    int deletionFilesPerSecond();
+
+    int maxQueueMillisPerTick();
+
+    int maxQueueOperationsPerTick();
+
+    int pregenerationChunksPerTick();
+
+    boolean admitPlayersWhilePregenerating();
+
+    boolean persistDynamicDimensions();
+
+    boolean deferLoadedDimensions();
+
     void enableCommands(boolean value);
 
     void commandPermissionLevel(int value);
+
+    void maxDimensionCommitsPerTick(int value);
+
+    void dormantIdleTicks(int value);
+
+    void idleUnloadTicks(int value);
+
+    void maxIdleUnloadsPerTick(int value);
+
+    void deletionFilesPerSecond(int value);
+
+    void maxQueueMillisPerTick(int value);
+
+    void maxQueueOperationsPerTick(int value);
+
+    void pregenerationChunksPerTick(int value);
+
+    void admitPlayersWhilePregenerating(boolean value);
+
+    void persistDynamicDimensions(boolean value);
+
+    void deferLoadedDimensions(boolean value);
 }
@@ -22,20 +22,39 @@
 
 package dev.galacticraft.dynamicdimensions.impl.gametest;
 
+import dev.galacticraft.dynamicdimensions.api.DimensionPool;
+import dev.galacticraft.dynamicdimensions.api.DimensionVisibility;
 import dev.galacticraft.dynamicdimensions.api.DynamicDimensionRegistry;
 import dev.galacticraft.dynamicdimensions.impl.Constants;
+import dev.galacticraft.dynamicdimensions.impl.accessor.DimensionManifestAccessor;
+import dev.galacticraft.dynamicdimensions.impl.internal.DimensionManifestFile;
 import dev.galacticraft.dynamicdimensions.impl.mixin.MinecraftServerAccessor;
+import dev.galacticraft.dynamicdimensions.impl.network.DimensionTypeCodec;
+import dev.galacticraft.dynamicdimensions.impl.registry.RegistryUtil;
+import io.netty.buffer.Unpooled;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.Holder;
+import net.minecraft.core.Registry;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.gametest.framework.GameTest;
 import net.minecraft.gametest.framework.GameTestAssertException;
 import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtOps;
+import net.minecraft.nbt.Tag;
+import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.tags.BlockTags;
+import net.minecraft.tags.TagKey;
+import net.minecraft.util.valueproviders.BiasedToBottomInt;
+import net.minecraft.util.valueproviders.ConstantInt;
 import net.minecraft.util.valueproviders.UniformInt;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.dimension.BuiltinDimensionTypes;
 import net.minecraft.world.level.dimension.DimensionType;
@@ -46,8 +65,14 @@ import org.jetbrains.annotations.NotNull;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
 import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import static dev.galacticraft.dynamicdimensions.impl.gametest.Assertions.*;
 
@@ -63,6 +88,19 @@ public class DynamicDimensionsGametest {
     private static final ResourceLocation TEST_LEVEL_3 = new ResourceLocation(Constants.MOD_ID, "level_3");
     private static final ResourceLocation TEST_LEVEL_4 = new ResourceLocation(Constants.MOD_ID, "level_4");
     private static final ResourceLocation TEST_LEVEL_5 = new ResourceLocation(Constants.MOD_ID, "level_5");
+    private static final ResourceLocation TEST_LEVEL_6 = new ResourceLocation(Constants.MOD_ID, "level_6");
+    private static final ResourceLocation TEST_LEVEL_7 = new ResourceLocation(Constants.MOD_ID, "level_7");
+    private static final ResourceLocation TEST_LEVEL_8 = new ResourceLocation(Constants.MOD_ID, "level_8");
+    private static final ResourceLocation TEST_LEVEL_9 = new ResourceLocation(Constants.MOD_ID, "level_9");
+    private static final ResourceLocation TEST_LEVEL_10 = new ResourceLocation(Constants.MOD_ID, "level_10");
+    private static final ResourceLocation TEST_LEVEL_11 = new ResourceLocation(Constants.MOD_ID, "level_11");
+    private static final ResourceLocation TEST_LEVEL_12 = new ResourceLocation(Constants.MOD_ID, "level_12");
+    private static final ResourceLocation TEST_LEVEL_13 = new ResourceLocation(Constants.MOD_ID, "level_13");
+    private static final ResourceLocation TEST_LEVEL_14 = new ResourceLocation(Constants.MOD_ID, "level_14");
+    private static final ResourceLocation TEST_LEVEL_15 = new ResourceLocation(Constants.MOD_ID, "level_15");
+    private static final ResourceLocation TEST_LEVEL_16 = new ResourceLocation(Constants.MOD_ID, "level_16");
+    private static final ResourceLocation TEST_LEVEL_17 = new ResourceLocation(Constants.MOD_ID, "level_17");
+    private static final ResourceLocation TEST_POOL = new ResourceLocation(Constants.MOD_ID, "pool");
 
     /**
      * Checks if dimensions can be created.
@@ -87,6 +125,229 @@ public class DynamicDimensionsGametest {
         });
     }
 
+    /**
+     * Checks if dimensions can be created off-thread.
+     * @param context GameTest context
+     */
+    @GameTest(template = EMPTY_STRUCTURE, timeoutTicks = 20)
+    public void createDynamicDimensionAsync(@NotNull GameTestHelper context) {
+        final MinecraftServer server = context.getLevel().getServer();
+        final ServerLevel overworld = server.overworld();
+        final DimensionType dimensionType = createDimensionType();
+        assertNotNull(overworld);
+        assertFalse(((DynamicDimensionRegistry) server).anyDimensionExists(TEST_LEVEL_6));
+
+        final CompletableFuture<ServerLevel> future = ((DynamicDimensionRegistry) server).createDynamicDimensionAsync(TEST_LEVEL_6, overworld.getChunkSource().getGenerator(), dimensionType);
+        assertFalse(((DynamicDimensionRegistry) server).canCreateDimension(TEST_LEVEL_6));
+        context.succeedWhen(() -> {
+            assertTrue(future.isDone());
+            ServerLevel level = future.join();
+            assertNotNull(level);
+            assertIdentity(level, server.getLevel(ResourceKey.create(Registries.DIMENSION, TEST_LEVEL_6)));
+            assertTrue(((DynamicDimensionRegistry) server).dynamicDimensionExists(TEST_LEVEL_6));
+            ((DynamicDimensionRegistry) server).deleteDynamicDimension(TEST_LEVEL_6, (server1, player) -> player.changeDimension(overworld));
+        });
+    }
+
+    /**
+     * Checks if dimensions can be created from a template directory.
+     * @param context GameTest context
+     */
+    @GameTest(template = EMPTY_STRUCTURE, timeoutTicks = 20)
+    public void createDynamicDimensionFromTemplate(@NotNull GameTestHelper context) {
+        final MinecraftServer server = context.getLevel().getServer();
+        final ServerLevel overworld = server.overworld();
+        final Path levelDir = ((MinecraftServerAccessor) server).getStorageSource().getDimensionPath(ResourceKey.create(Registries.DIMENSION, TEST_LEVEL_13));
+        assertNotNull(overworld);
+        assertFalse(((DynamicDimensionRegistry) server).anyDimensionExists(TEST_LEVEL_13));
+
+        final Path template;
+        try {
+            template = Files.createTempDirectory("dynamicdimensions_template");
+            Files.createDirectories(template.resolve("data"));
+            Files.writeString(template.resolve("data").resolve("template.txt"), "template");
+        } catch (IOException e) {
+            GameTestAssertException ex = new GameTestAssertException("Failed to create template directory!");
+            ex.addSuppressed(e);
+            throw ex;
+        }
+
+        final CompletableFuture<ServerLevel> future = ((DynamicDimensionRegistry) server).createDynamicDimensionFromTemplate(TEST_LEVEL_13, template, overworld.getChunkSource().getGenerator(), createDimensionType());
+        context.succeedWhen(() -> {
+            assertTrue(future.isDone());
+            assertNotNull(future.join());
+            assertTrue(Files.isRegularFile(levelDir.resolve("data").resolve("template.txt")));
+            assertTrue(Files.isRegularFile(template.resolve("data").resolve("template.txt")));
+            ((DynamicDimensionRegistry) server).deleteDynamicDimension(TEST_LEVEL_13, (server1, player) -> player.changeDimension(overworld));
+            try {
+                FileUtils.deleteDirectory(template.toFile());
+            } catch (IOException ignored) {
+            }
+        });
+    }
+
+    /**
+     * Checks if several dimensions can be created in one batch.
+     * @param context GameTest context
+     */
+    @GameTest(template = EMPTY_STRUCTURE, timeoutTicks = 3)
+    public void createDynamicDimensions(@NotNull GameTestHelper context) {
+        final MinecraftServer server = context.getLevel().getServer();
+        final ServerLevel overworld = server.overworld();
+        assertNotNull(overworld);
+        assertFalse(((DynamicDimensionRegistry) server).anyDimensionExists(TEST_LEVEL_7));
+        assertFalse(((DynamicDimensionRegistry) server).anyDimensionExists(TEST_LEVEL_8));
+
+        final List<ServerLevel> levels = ((DynamicDimensionRegistry) server).createDynamicDimensions(List.of(
+                new DynamicDimensionRegistry.DimensionSpec(TEST_LEVEL_7, overworld.getChunkSource().getGenerator(), createDimensionType(), false),
+                new DynamicDimensionRegistry.DimensionSpec(TEST_LEVEL_8, overworld.getChunkSource().getGenerator(), createDimensionType(), false)
+        ));
+        assertEquals(levels.size(), 2);
+        assertNotNull(levels.get(0));
+        assertNotNull(levels.get(1));
+        context.runAfterDelay(1, () -> {
+            assertTrue(((DynamicDimensionRegistry) server).dynamicDimensionExists(TEST_LEVEL_7));
+            assertTrue(((DynamicDimensionRegistry) server).dynamicDimensionExists(TEST_LEVEL_8));
+            ((DynamicDimensionRegistry) server).deleteDynamicDimension(TEST_LEVEL_7, (server1, player) -> player.changeDimension(overworld));
+            ((DynamicDimensionRegistry) server).deleteDynamicDimension(TEST_LEVEL_8, (server1, player) -> player.changeDimension(overworld));
+            context.runAfterDelay(1, context::succeed);
+        });
+    }
+
+    /**
+     * Checks that dormant dimensions are loaded when requested.
+     * @param context GameTest context
+     */
+    @GameTest(template = EMPTY_STRUCTURE, timeoutTicks = 3)
+    public void wakeDormantDynamicDimension(@NotNull GameTestHelper context) {
+        final MinecraftServer server = context.getLevel().getServer();
+        final ServerLevel overworld = server.overworld();
+        final ResourceKey<Level> key = ResourceKey.create(Registries.DIMENSION, TEST_LEVEL_9);
+        assertNotNull(overworld);
+        assertFalse(((DynamicDimensionRegistry) server).anyDimensionExists(TEST_LEVEL_9));
+
+        assertTrue(((DynamicDimensionRegistry) server).registerDormantDynamicDimension(TEST_LEVEL_9, overworld.getChunkSource().getGenerator(), createDimensionType()));
+        assertTrue(((DynamicDimensionRegistry) server).dynamicDimensionExists(TEST_LEVEL_9));
+        assertTrue(((DynamicDimensionRegistry) server).isDimensionDormant(TEST_LEVEL_9));
+        assertFalse(server.levelKeys().contains(key));
+
+        assertNotNull(server.getLevel(key));
+        assertFalse(((DynamicDimensionRegistry) server).isDimensionDormant(TEST_LEVEL_9));
+        context.runAfterDelay(1, () -> {
+            assertTrue(server.levelKeys().contains(key));
+            ((DynamicDimensionRegistry) server).deleteDynamicDimension(TEST_LEVEL_9, (server1, player) -> player.changeDimension(overworld));
+            context.runAfterDelay(1, context::succeed);
+        });
+    }
+
+    /**
+     * Checks that dimensions can be pinned and that unloading them removes the pin.
+     * @param context GameTest context
+     */
+    @GameTest(template = EMPTY_STRUCTURE, timeoutTicks = 2)
+    public void pinDynamicDimension(@NotNull GameTestHelper context) {
+        final MinecraftServer server = context.getLevel().getServer();
+        final ServerLevel overworld = server.overworld();
+        assertNotNull(overworld);
+        assertFalse(((DynamicDimensionRegistry) server).setDimensionPinned(TEST_LEVEL_10, true));
+
+        assertNotNull(((DynamicDimensionRegistry) server).createDynamicDimension(TEST_LEVEL_10, overworld.getChunkSource().getGenerator(), createDimensionType()));
+        assertFalse(((DynamicDimensionRegistry) server).isDimensionPinned(TEST_LEVEL_10));
+        assertTrue(((DynamicDimensionRegistry) server).setDimensionPinned(TEST_LEVEL_10, true));
+        assertTrue(((DynamicDimensionRegistry) server).isDimensionPinned(TEST_LEVEL_10));
+
+        assertTrue(((DynamicDimensionRegistry) server).deleteDynamicDimension(TEST_LEVEL_10, (server1, player) -> player.changeDimension(overworld)));
+        context.runAfterDelay(1, () -> {
+            assertFalse(((DynamicDimensionRegistry) server).isDimensionPinned(TEST_LEVEL_10));
+            context.succeed();
+        });
+    }
+
+    /**
+     * Checks that structurally equal dimension types are shared, and removed with the last dimension using them.
+     * @param context GameTest context
+     */
+    @GameTest(template = EMPTY_STRUCTURE, timeoutTicks = 3)
+    public void shareDimensionType(@NotNull GameTestHelper context) {
+        final MinecraftServer server = context.getLevel().getServer();
+        final ServerLevel overworld = server.overworld();
+        final Registry<DimensionType> types = server.registryAccess().registryOrThrow(Registries.DIMENSION_TYPE);
+        assertNotNull(overworld);
+        final int size = types.size();
+
+        ServerLevel level = ((DynamicDimensionRegistry) server).createDynamicDimension(TEST_LEVEL_11, overworld.getChunkSource().getGenerator(), Holder.direct(createDimensionType()));
+        ServerLevel level2 = ((DynamicDimensionRegistry) server).createDynamicDimension(TEST_LEVEL_12, overworld.getChunkSource().getGenerator(), Holder.direct(createDimensionType()));
+        assertNotNull(level);
+        assertNotNull(level2);
+        assertEquals(level.dimensionTypeId(), level2.dimensionTypeId());
+        assertEquals(size + 1, types.size());
+
+        assertTrue(((DynamicDimensionRegistry) server).deleteDynamicDimension(TEST_LEVEL_11, (server1, player) -> player.changeDimension(overworld)));
+        context.runAfterDelay(1, () -> {
+            assertTrue(types.containsKey(level2.dimensionTypeId()));
+            assertTrue(((DynamicDimensionRegistry) server).deleteDynamicDimension(TEST_LEVEL_12, (server1, player) -> player.changeDimension(overworld)));
+            context.runAfterDelay(1, () -> {
+                assertFalse(types.containsKey(level2.dimensionTypeId()));
+                assertEquals(size, types.size());
+                context.succeed();
+            });
+        });
+    }
+
+    /**
+     * Checks that the chunks around the spawn point of a dimension can be generated in the background.
+     * @param context GameTest context
+     */
+    @GameTest(template = EMPTY_STRUCTURE, timeoutTicks = 200)
+    public void pregenerateDynamicDimension(@NotNull GameTestHelper context) {
+        final MinecraftServer server = context.getLevel().getServer();
+        final ServerLevel overworld = server.overworld();
+        assertNotNull(overworld);
+        assertFalse(((DynamicDimensionRegistry) server).anyDimensionExists(TEST_LEVEL_14));
+
+        assertNotNull(((DynamicDimensionRegistry) server).createDynamicDimension(TEST_LEVEL_14, overworld.getChunkSource().getGenerator(), createDimensionType()));
+        final CompletableFuture<Boolean> future = ((DynamicDimensionRegistry) server).pregenerateDynamicDimension(TEST_LEVEL_14, 1);
+        assertTrue(((DynamicDimensionRegistry) server).isDimensionPregenerating(TEST_LEVEL_14));
+        context.succeedWhen(() -> {
+            assertTrue(future.isDone());
+            assertTrue(future.join());
+            assertFalse(((DynamicDimensionRegistry) server).isDimensionPregenerating(TEST_LEVEL_14));
+            ((DynamicDimensionRegistry) server).deleteDynamicDimension(TEST_LEVEL_14, (server1, player) -> player.changeDimension(overworld));
+        });
+    }
+
+    /**
+     * Checks that pooled dimensions are loaded ahead of time, and replaced after being released.
+     * @param context GameTest context
+     */
+    @GameTest(template = EMPTY_STRUCTURE, timeoutTicks = 100)
+    public void dimensionPool(@NotNull GameTestHelper context) {
+        final MinecraftServer server = context.getLevel().getServer();
+        final ServerLevel overworld = server.overworld();
+        assertNotNull(overworld);
+
+        final DimensionPool pool = ((DynamicDimensionRegistry) server).createDimensionPool(TEST_POOL, overworld.getChunkSource().getGenerator(), Holder.direct(createDimensionType()), 2);
+        assertIdentity(pool, ((DynamicDimensionRegistry) server).getDimensionPool(TEST_POOL));
+        final ServerLevel[] acquired = new ServerLevel[1];
+        context.startSequence()
+                .thenWaitUntil(() -> assertEquals(2, pool.available()))
+                .thenExecute(() -> {
+                    acquired[0] = pool.acquire();
+                    assertNotNull(acquired[0]);
+                    assertEquals(1, pool.available());
+                    assertIdentity(acquired[0], server.getLevel(acquired[0].dimension()));
+                    assertTrue(pool.release(acquired[0].dimension().location(), (server1, player) -> player.changeDimension(overworld)));
+                    assertFalse(pool.release(acquired[0].dimension().location(), null));
+                })
+                .thenWaitUntil(() -> assertEquals(2, pool.available()))
+                .thenExecute(() -> {
+                    pool.close((server1, player) -> player.changeDimension(overworld));
+                    assertEquals(0, pool.available());
+                    assertNull(((DynamicDimensionRegistry) server).getDimensionPool(TEST_POOL));
+                })
+                .thenSucceed();
+    }
+
     /**
      * Checks if dimensions can be unloaded.
      * @param context GameTest context
@@ -116,7 +377,7 @@ public class DynamicDimensionsGametest {
      * Checks if deleted dimensions actually have their files deleted.
      * @param context GameTest context
      */
-    @GameTest(template = EMPTY_STRUCTURE, timeoutTicks = 3)
+    @GameTest(template = EMPTY_STRUCTURE, timeoutTicks = 100)
     public void removedDimensionsDelete(@NotNull GameTestHelper context) {
         final MinecraftServer server = context.getLevel().getServer();
         final Path worldDir = ((MinecraftServerAccessor) server).getStorageSource().getDimensionPath(ResourceKey.create(Registries.DIMENSION, TEST_LEVEL_3));
@@ -144,11 +405,10 @@ public class DynamicDimensionsGametest {
             assertTrue(file.isDirectory());
 
             assertTrue(((DynamicDimensionRegistry) server).deleteDynamicDimension(TEST_LEVEL_3, (server1, player) -> player.changeDimension(overworld)));
-            context.runAfterDelay(1, () -> {
+            context.succeedWhen(() -> { // files are deleted once the level has been written and closed
                 ServerLevel level2 = server.getLevel(ResourceKey.create(Registries.DIMENSION, TEST_LEVEL_3));
                 assertNull(level2);
                 assertFalse(file.isDirectory());
-                context.succeed();
             });
         });
     }
@@ -157,7 +417,7 @@ public class DynamicDimensionsGametest {
      * Checks that unloaded dimensions are saved and are not deleted.
      * @param context GameTest context
      */
-    @GameTest(template = EMPTY_STRUCTURE, timeoutTicks = 3)
+    @GameTest(template = EMPTY_STRUCTURE, timeoutTicks = 100)
     public void unloadedDynamicDimensionSaved(@NotNull GameTestHelper context) {
         final MinecraftServer server = context.getLevel().getServer();
         final Path levelDir = ((MinecraftServerAccessor) server).getStorageSource().getDimensionPath(ResourceKey.create(Registries.DIMENSION, TEST_LEVEL_2));
@@ -184,16 +444,19 @@ public class DynamicDimensionsGametest {
             level.save(null, true, false);
             assertTrue(file.isDirectory());
 
-            assertTrue(((DynamicDimensionRegistry) server).unloadDynamicDimension(TEST_LEVEL_2, (server1, player) -> player.changeDimension(overworld)));
+            CompletableFuture<Boolean> unloaded = ((DynamicDimensionRegistry) server).unloadDynamicDimensionAsync(TEST_LEVEL_2, (server1, player) -> player.changeDimension(overworld));
             context.runAfterDelay(1, () -> {
                 ServerLevel level2 = server.getLevel(ResourceKey.create(Registries.DIMENSION, TEST_LEVEL_2));
                 assertNull(level2);
                 assertTrue(file.isDirectory());
-                try {
-                    FileUtils.deleteDirectory(file); // cleanup
-                } catch (IOException ignored) {}
-                
-                context.succeed();
+
+                context.succeedWhen(() -> {
+                    assertTrue(unloaded.isDone());
+                    assertTrue(unloaded.join());
+                    try {
+                        FileUtils.deleteDirectory(file); // cleanup
+                    } catch (IOException ignored) {}
+                });
             });
         });
     }
@@ -306,6 +569,159 @@ public class DynamicDimensionsGametest {
         });
     }
 
+    /**
+     * Checks that a player can join while dynamic dimensions exist, and only learns about the ones they can see.
+     * @param context GameTest context
+     */
+    @GameTest(template = EMPTY_STRUCTURE, timeoutTicks = 3)
+    public void joinWithDynamicDimensions(@NotNull GameTestHelper context) {
+        final MinecraftServer server = context.getLevel().getServer();
+        final DynamicDimensionRegistry registry = (DynamicDimensionRegistry) server;
+        final ServerLevel overworld = server.overworld();
+        final ResourceKey<Level> visible = ResourceKey.create(Registries.DIMENSION, TEST_LEVEL_15);
+        final ResourceKey<Level> hidden = ResourceKey.create(Registries.DIMENSION, TEST_LEVEL_16);
+
+        registry.setDimensionVisibility(TEST_LEVEL_16, DimensionVisibility.NONE);
+        assertNotNull(registry.createDynamicDimension(TEST_LEVEL_15, overworld.getChunkSource().getGenerator(), createDimensionType()));
+        assertNotNull(registry.createDynamicDimension(TEST_LEVEL_16, overworld.getChunkSource().getGenerator(), createDimensionType()));
+        context.runAfterDelay(1, () -> {
+            ServerPlayer player = context.makeMockServerPlayerInLevel(); // joins through PlayerList#placeNewPlayer, which sends the dimension manifest
+            assertNotNull(server.getPlayerList().getPlayer(player.getUUID()));
+            Set<ResourceKey<Level>> levels = ((DimensionManifestAccessor) server).dynamicDimensions$filterLoginLevels(player, server.levelKeys());
+            assertTrue(levels.contains(visible));
+            assertFalse(levels.contains(hidden));
+            assertTrue(levels.contains(Level.OVERWORLD));
+
+            server.getPlayerList().remove(player);
+            registry.deleteDynamicDimension(TEST_LEVEL_15, (server1, player1) -> player1.disconnect());
+            registry.deleteDynamicDimension(TEST_LEVEL_16, (server1, player1) -> player1.disconnect());
+            context.runAfterDelay(1, context::succeed);
+        });
+    }
+
+    /**
+     * Checks that a dimension created and deleted in the same batch leaves nothing behind for players.
+     * @param context GameTest context
+     */
+    @GameTest(template = EMPTY_STRUCTURE, timeoutTicks = 3)
+    public void createAndDeleteInBatch(@NotNull GameTestHelper context) {
+        final MinecraftServer server = context.getLevel().getServer();
+        final DynamicDimensionRegistry registry = (DynamicDimensionRegistry) server;
+        final ServerLevel overworld = server.overworld();
+        final ResourceKey<Level> key = ResourceKey.create(Registries.DIMENSION, TEST_LEVEL_17);
+        final Registry<DimensionType> typeRegistry = server.registryAccess().registryOrThrow(Registries.DIMENSION_TYPE);
+        final DimensionType dimensionType = createDimensionType();
+
+        final ServerPlayer player = context.makeMockServerPlayerInLevel();
+        registry.setDimensionVisibility(TEST_LEVEL_17, (player1, id) -> true); // tracks who was told about the dimension
+        try (DynamicDimensionRegistry.Batch ignored = registry.batch()) {
+            assertNotNull(registry.createDynamicDimension(TEST_LEVEL_17, overworld.getChunkSource().getGenerator(), dimensionType));
+            assertTrue(registry.deleteDynamicDimension(TEST_LEVEL_17, (server1, player1) -> player1.disconnect()));
+        }
+        assertFalse(((DimensionManifestAccessor) server).dynamicDimensions$isRevealedTo(player, key));
+
+        context.runAfterDelay(1, () -> {
+            assertFalse(registry.anyDimensionExists(TEST_LEVEL_17));
+            assertFalse(RegistryUtil.containsValue(typeRegistry, dimensionType));
+            server.getPlayerList().remove(player);
+            context.succeed();
+        });
+    }
+
+    /**
+     * Checks that dimension types survive the binary dimension packet encoding unchanged.
+     * @param context GameTest context
+     */
+    @GameTest(template = EMPTY_STRUCTURE, timeoutTicks = 1)
+    public void dimensionTypeCodecRoundTrip(@NotNull GameTestHelper context) {
+        final TagKey<Block> customInfiniburn = TagKey.create(Registries.BLOCK, new ResourceLocation(Constants.MOD_ID, "test_infiniburn"));
+        final ResourceLocation customEffects = new ResourceLocation(Constants.MOD_ID, "test_effects");
+
+        assertDimensionTypeRoundTrip(createDimensionType()); // well-known tag and effects, uniform provider, negative minimum height
+        assertDimensionTypeRoundTrip(new DimensionType(OptionalLong.of(18000L), false, true, true, false, 8.0, true, false, 0, 256, 128, BlockTags.INFINIBURN_NETHER, BuiltinDimensionTypes.NETHER_EFFECTS, 0.1F, new DimensionType.MonsterSettings(true, false, ConstantInt.of(7), 15)));
+        assertDimensionTypeRoundTrip(new DimensionType(OptionalLong.empty(), true, false, false, true, 0.5, false, true, -2032, 4064, 4064, customInfiniburn, customEffects, 0.5F, new DimensionType.MonsterSettings(false, true, BiasedToBottomInt.of(0, 7), 3)));
+        context.succeed();
+    }
+
+    private static void assertDimensionTypeRoundTrip(@NotNull DimensionType type) {
+        final FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        DimensionTypeCodec.write(buf, type);
+        final DimensionType read = DimensionTypeCodec.read(buf);
+        assertFalse(buf.isReadable());
+        // int providers do not implement equals, so the types are compared through their codec
+        assertEquals(encodeDimensionType(type), encodeDimensionType(read));
+    }
+
+    private static @NotNull Tag encodeDimensionType(@NotNull DimensionType type) {
+        return DimensionType.DIRECT_CODEC.encodeStart(NbtOps.INSTANCE, type).getOrThrow(false, Constants.LOGGER::error);
+    }
+
+    /**
+     * Checks that the dimension manifest reads back what was written, and recovers from a partially written record.
+     * @param context GameTest context
+     */
+    @GameTest(template = EMPTY_STRUCTURE, timeoutTicks = 1)
+    public void dimensionManifestFile(@NotNull GameTestHelper context) {
+        final ResourceLocation overworldType = BuiltinDimensionTypes.OVERWORLD.location();
+        final CompoundTag generator = new CompoundTag();
+        generator.putString("type", "minecraft:flat");
+
+        try {
+            final Path directory = Files.createTempDirectory("dynamicdimensions_manifest");
+            final Path path = directory.resolve("dynamicdimensions.dat");
+
+            try (DimensionManifestFile manifest = new DimensionManifestFile(path)) {
+                assertTrue(manifest.read().isEmpty());
+                manifest.put(TEST_LEVEL_0, generator, DimensionManifestFile.TYPE_OWN, createDimensionType(), TEST_LEVEL_0, (byte) 0);
+                manifest.put(TEST_LEVEL_1, generator, DimensionManifestFile.TYPE_REFERENCE, createDimensionType(), overworldType, DimensionManifestFile.STATE_DORMANT);
+                manifest.put(TEST_LEVEL_2, generator, DimensionManifestFile.TYPE_SHARED, createDimensionType(), TEST_LEVEL_2, (byte) 0);
+                manifest.setState(TEST_LEVEL_0, DimensionManifestFile.STATE_PINNED);
+                manifest.remove(TEST_LEVEL_1);
+                manifest.put(TEST_LEVEL_1, generator, DimensionManifestFile.TYPE_REFERENCE, createDimensionType(), overworldType, (byte) 0);
+                manifest.put(TEST_LEVEL_3, generator, DimensionManifestFile.TYPE_OWN, createDimensionType(), TEST_LEVEL_3, (byte) 0);
+                manifest.remove(TEST_LEVEL_3);
+            }
+            assertManifestEntries(new DimensionManifestFile(path).read(), overworldType, generator, TEST_LEVEL_0, TEST_LEVEL_2, TEST_LEVEL_1);
+
+            // a record that claims more bytes than were written, as left behind by a crash
+            Files.write(path, new byte[]{100, 1, 0, 0}, StandardOpenOption.APPEND);
+            try (DimensionManifestFile manifest = new DimensionManifestFile(path)) {
+                assertManifestEntries(manifest.read(), overworldType, generator, TEST_LEVEL_0, TEST_LEVEL_2, TEST_LEVEL_1);
+                manifest.put(TEST_LEVEL_4, generator, DimensionManifestFile.TYPE_OWN, createDimensionType(), TEST_LEVEL_4, (byte) 0);
+            }
+            // the unreadable tail was dropped, so the record written after it is not lost
+            assertManifestEntries(new DimensionManifestFile(path).read(), overworldType, generator, TEST_LEVEL_0, TEST_LEVEL_2, TEST_LEVEL_1, TEST_LEVEL_4);
+
+            FileUtils.deleteDirectory(directory.toFile());
+        } catch (IOException e) {
+            GameTestAssertException ex = new GameTestAssertException("Failed to read or write the dimension manifest!");
+            ex.addSuppressed(e);
+            throw ex;
+        }
+        context.succeed();
+    }
+
+    private static void assertManifestEntries(@NotNull Map<ResourceLocation, DimensionManifestFile.Entry> entries, @NotNull ResourceLocation overworldType, @NotNull CompoundTag generator, @NotNull ResourceLocation... ids) {
+        assertEquals(List.of(ids), List.copyOf(entries.keySet()));
+        for (DimensionManifestFile.Entry entry : entries.values()) {
+            assertEquals(generator, entry.generator());
+        }
+
+        final DimensionManifestFile.Entry pinned = entries.get(TEST_LEVEL_0);
+        assertEquals(DimensionManifestFile.TYPE_OWN, pinned.typeKind());
+        assertTrue(pinned.hasState(DimensionManifestFile.STATE_PINNED));
+        assertFalse(pinned.hasState(DimensionManifestFile.STATE_DORMANT));
+        assertEquals(encodeDimensionType(createDimensionType()), encodeDimensionType(pinned.type()));
+
+        final DimensionManifestFile.Entry reference = entries.get(TEST_LEVEL_1);
+        assertEquals(DimensionManifestFile.TYPE_REFERENCE, reference.typeKind());
+        assertEquals(overworldType, reference.typeId());
+        assertNull(reference.type());
+        assertFalse(reference.hasState(DimensionManifestFile.STATE_DORMANT)); // re-added without the state
+
+        assertEquals(DimensionManifestFile.TYPE_SHARED, entries.get(TEST_LEVEL_2).typeKind());
+    }
+
     /**
      * Constructs an arbitrary dimension type for testing.
      * @return a new, unregistered dimension type
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2021-2024 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.dynamicdimensions.impl.internal;
+
+import dev.galacticraft.dynamicdimensions.api.event.DynamicDimensionLoadCallback;
+import dev.galacticraft.dynamicdimensions.impl.Constants;
+import net.minecraft.Util;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.chunk.ChunkGenerator;
+import net.minecraft.world.level.dimension.DimensionType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Collects the dimensions supplied by {@link DynamicDimensionLoadCallback}s, creating them on the background (fork-join) executor.
+ * Nothing is registered until {@link #commit()}, which registers every dimension on the calling thread in the order they were loaded.
+ */
+public final class BatchedDimensionLoader implements DynamicDimensionLoadCallback.DynamicDimensionLoader {
+    private final @NotNull DynamicDimensionLoadCallback.DynamicDimensionLoader registrar;
+    private final @NotNull List<CompletableFuture<@Nullable LoadedDimension>> dimensions = new ArrayList<>();
+
+    private record LoadedDimension(@NotNull ResourceLocation id, @NotNull ChunkGenerator chunkGenerator, @NotNull DimensionType type) {
+    }
+
+    /**
+     * @param registrar registers a loaded dimension
+     */
+    public BatchedDimensionLoader(@NotNull DynamicDimensionLoadCallback.DynamicDimensionLoader registrar) {
+        this.registrar = registrar;
+    }
+
+    @Override
+    public void loadDynamicDimension(@NotNull ResourceLocation id, @NotNull ChunkGenerator chunkGenerator, @NotNull DimensionType type) {
+        this.dimensions.add(CompletableFuture.completedFuture(new LoadedDimension(id, chunkGenerator, type)));
+    }
+
+    @Override
+    public void loadDynamicDimensionAsync(@NotNull ResourceLocation id, @NotNull Supplier<@NotNull ChunkGenerator> chunkGenerator, @NotNull Supplier<@NotNull DimensionType> type) {
+        this.dimensions.add(CompletableFuture.supplyAsync(() -> {
+            try {
+                return new LoadedDimension(id, chunkGenerator.get(), type.get());
+            } catch (RuntimeException e) {
+                Constants.LOGGER.error("Failed to load dynamic dimension '{}'", id, e);
+                return null;
+            }
+        }, Util.backgroundExecutor()));
+    }
+
+    /**
+     * Waits for all dimensions to be created, then registers them in order.
+     * Dimensions that failed to load are skipped.
+     */
+    public void commit() {
+        for (CompletableFuture<LoadedDimension> future : this.dimensions) {
+            final LoadedDimension dimension = future.join();
+            if (dimension != null) {
+                this.registrar.loadDynamicDimension(dimension.id(), dimension.chunkGenerator(), dimension.type());
+            }
+        }
+        this.dimensions.clear();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2021-2024 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.dynamicdimensions.impl.internal;
+
+import dev.galacticraft.dynamicdimensions.impl.mixin.DistanceManagerAccessor;
+import dev.galacticraft.dynamicdimensions.impl.mixin.ServerChunkCacheAccessor;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps track of the last tick in which a level had players or chunk tickets.
+ */
+public final class DimensionActivityTracker {
+    private final Object2LongMap<ResourceKey<Level>> lastPlayer = new Object2LongOpenHashMap<>();
+    private final Object2LongMap<ResourceKey<Level>> lastTicket = new Object2LongOpenHashMap<>();
+
+    public void track(@NotNull ResourceKey<Level> key, long tick) {
+        this.lastPlayer.put(key, tick);
+        this.lastTicket.put(key, tick);
+    }
+
+    public void untrack(@NotNull ResourceKey<Level> key) {
+        this.lastPlayer.removeLong(key);
+        this.lastTicket.removeLong(key);
+    }
+
+    public boolean isTracked(@NotNull ResourceKey<Level> key) {
+        return this.lastPlayer.containsKey(key);
+    }
+
+    public boolean isEmpty() {
+        return this.lastPlayer.isEmpty();
+    }
+
+    public long getLastPlayerTick(@NotNull ResourceKey<Level> key) {
+        return this.lastPlayer.getLong(key);
+    }
+
+    public long getLastTicketTick(@NotNull ResourceKey<Level> key) {
+        return this.lastTicket.getLong(key);
+    }
+
+    /**
+     * Updates the activity of all tracked, loaded levels.
+     *
+     * @param levels    the loaded levels of the server
+     * @param tick      the current server tick
+     * @param idleTicks the number of ticks a level must be inactive for to be considered idle
+     * @param idle      receives the keys of idle levels
+     */
+    public void update(@NotNull Map<ResourceKey<Level>, ServerLevel> levels, long tick, long idleTicks, @NotNull List<ResourceKey<Level>> idle) {
+        for (Object2LongMap.Entry<ResourceKey<Level>> entry : this.lastPlayer.object2LongEntrySet()) {
+            ServerLevel level = levels.get(entry.getKey());
+            if (level == null) continue; // not loaded
+
+            if (hasPlayers(level)) {
+                entry.setValue(tick);
+            }
+            if (hasTickets(level)) {
+                this.lastTicket.put(entry.getKey(), tick);
+            }
+            if (tick - Math.max(entry.getLongValue(), this.lastTicket.getLong(entry.getKey())) >= idleTicks) {
+                idle.add(entry.getKey());
+            }
+        }
+    }
+
+    public static boolean isActive(@NotNull ServerLevel level) {
+        return hasPlayers(level) || hasTickets(level);
+    }
+
+    private static boolean hasPlayers(@NotNull ServerLevel level) {
+        return !level.players().isEmpty();
+    }
+
+    private static boolean hasTickets(@NotNull ServerLevel level) {
+        return !level.getForcedChunks().isEmpty()
+                || !((DistanceManagerAccessor) ((ServerChunkCacheAccessor) level.getChunkSource()).getDistanceManager()).getTickets().isEmpty();
+    }
+}
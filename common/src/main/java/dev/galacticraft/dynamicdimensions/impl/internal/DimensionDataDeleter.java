@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2021-2024 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.dynamicdimensions.impl.internal;
+
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import dev.galacticraft.dynamicdimensions.impl.Constants;
+import org.apache.commons.io.FileUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Deletes the data of removed dimensions in the background.
+ * Directories are first moved into a trash directory (so that the dimension can be recreated immediately),
+ * and are then deleted on a single background thread at a limited number of files per second.
+ * Anything left in the trash directory (for example, after a crash) is deleted when the deleter is created.
+ */
+public final class DimensionDataDeleter implements AutoCloseable {
+    private static final String TRASH_DIRECTORY = "dynamicdimensions_trash";
+
+    private final @NotNull Path trash;
+    private final @NotNull ExecutorService executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("DynamicDimensions-Deleter")
+            .setDaemon(true)
+            .build());
+    private final @NotNull RateLimiter rateLimiter;
+
+    public DimensionDataDeleter(@NotNull Path worldRoot, int filesPerSecond) {
+        this.trash = worldRoot.resolve(TRASH_DIRECTORY);
+        this.rateLimiter = RateLimiter.create(filesPerSecond);
+
+        if (Files.isDirectory(this.trash)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.trash)) {
+                for (Path leftover : stream) {
+                    Constants.LOGGER.info("Deleting leftover dimension data '{}'", leftover.getFileName());
+                    this.executor.execute(() -> this.deleteRecursively(leftover));
+                }
+            } catch (IOException e) {
+                Constants.LOGGER.error("Failed to list leftover dimension data!", e);
+            }
+        }
+    }
+
+    /**
+     * Moves the given directory out of the way and schedules it for deletion.
+     * If the directory cannot be moved atomically, it is deleted immediately instead.
+     *
+     * @param directory      the directory to delete
+     * @param filesPerSecond the maximum number of files to delete per second
+     */
+    public void delete(@NotNull Path directory, int filesPerSecond) {
+        if (!Files.exists(directory)) return;
+
+        Path target = this.trash.resolve(directory.getFileName() + "-" + UUID.randomUUID());
+        try {
+            Files.createDirectories(this.trash);
+            Files.move(directory, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Constants.LOGGER.warn("Unable to move '{}' to the trash directory, deleting it in place", directory);
+            try {
+                FileUtils.deleteDirectory(directory.toFile());
+            } catch (IOException ex) {
+                throw new RuntimeException("Failed to delete deleted world directory!", ex);
+            }
+            return;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to move deleted world directory!", e);
+        }
+
+        this.executor.execute(() -> {
+            if (this.rateLimiter.getRate() != filesPerSecond) {
+                this.rateLimiter.setRate(filesPerSecond);
+            }
+            this.deleteRecursively(target);
+        });
+    }
+
+    private void deleteRecursively(@NotNull Path directory) {
+        try {
+            Files.walkFileTree(directory, new SimpleFileVisitor<>() {
+                @Override
+                public @NotNull FileVisitResult visitFile(@NotNull Path file, @NotNull BasicFileAttributes attrs) throws IOException {
+                    if (Thread.currentThread().isInterrupted()) return FileVisitResult.TERMINATE; // resumed on next load
+                    DimensionDataDeleter.this.rateLimiter.acquire();
+                    Files.delete(file);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public @NotNull FileVisitResult postVisitDirectory(@NotNull Path dir, IOException exc) throws IOException {
+                    if (exc != null) throw exc;
+                    Files.delete(dir);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            Constants.LOGGER.error("Failed to delete dimension data '{}'", directory, e);
+        }
+    }
+
+    /**
+     * Stops accepting new deletions. Deletions that have not finished yet are resumed the next time the world is loaded.
+     */
+    @Override
+    public void close() {
+        this.executor.shutdownNow();
+    }
+}
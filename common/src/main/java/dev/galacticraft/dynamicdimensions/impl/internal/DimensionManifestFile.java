@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) 2021-2024 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.dynamicdimensions.impl.internal;
+
+import dev.galacticraft.dynamicdimensions.impl.Constants;
+import dev.galacticraft.dynamicdimensions.impl.network.DimensionTypeCodec;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.dimension.DimensionType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * An append-only record of the dynamic dimensions of a world, so that they can be loaded again when the server starts.
+ * Every change is appended as a length-prefixed record, and the whole file is read back in a single pass.
+ * The file is rewritten with only the live dimensions once it has accumulated enough stale records,
+ * both when it is read and while the server is running.
+ */
+public final class DimensionManifestFile implements AutoCloseable {
+    private static final int MAGIC = 0x44444D46; // DDMF
+    private static final byte VERSION = 1;
+
+    private static final byte PUT = 1;
+    private static final byte STATE = 2;
+    private static final byte REMOVE = 3;
+
+    public static final byte TYPE_OWN = 0;
+    public static final byte TYPE_SHARED = 1;
+    public static final byte TYPE_REFERENCE = 2;
+
+    public static final byte STATE_DORMANT = 1;
+    public static final byte STATE_PINNED = 1 << 1;
+
+    private final @NotNull Path path;
+    private final @NotNull ByteBuf pending = Unpooled.buffer();
+    private final @NotNull Map<ResourceLocation, Entry> live = new LinkedHashMap<>(); // what the file describes, for compaction
+    private int records = 0; // in the file and pending
+    private boolean known = false; // whether the live dimensions are known, so that the file may be compacted
+    private @Nullable FileChannel channel = null;
+
+    /**
+     * A dimension stored in the manifest.
+     *
+     * @param id        the ID of the dimension
+     * @param generator the encoded chunk generator
+     * @param typeKind  how the dimension type is stored, one of {@code TYPE_*}
+     * @param type      the dimension type, unless it is a reference
+     * @param typeId    the ID of the referenced dimension type
+     * @param state     a combination of {@code STATE_*} flags
+     */
+    public record Entry(@NotNull ResourceLocation id, @NotNull CompoundTag generator, byte typeKind,
+                        @Nullable DimensionType type, @Nullable ResourceLocation typeId, byte state) {
+        public boolean hasState(byte flag) {
+            return (this.state & flag) != 0;
+        }
+    }
+
+    public DimensionManifestFile(@NotNull Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Reads every live dimension from the manifest. Compacts the file if it holds many stale records,
+     * and drops a partially written record at the end (for example, after a crash).
+     * <p>
+     * A file that is not a manifest (or has an unsupported version), or a corrupt file that cannot be compacted,
+     * is moved aside so that new records start a fresh manifest.
+     *
+     * @return the live dimensions, in the order they were first added
+     * @throws IOException if the file cannot be read, or is not a manifest
+     */
+    public @NotNull Map<ResourceLocation, Entry> read() throws IOException {
+        final Map<ResourceLocation, Entry> entries = new LinkedHashMap<>();
+        if (!Files.isRegularFile(this.path)) {
+            this.known = true;
+            return entries;
+        }
+
+        int records = 0;
+        boolean truncated = false;
+        // read into the heap rather than mapping the file: a live mapping prevents replacing or moving the file on Windows
+        final byte[] bytes = Files.readAllBytes(this.path);
+        if (bytes.length == 0) {
+            this.known = true;
+            return entries;
+        }
+        final FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.wrappedBuffer(bytes));
+        final @Nullable String rejection = checkHeader(buf);
+
+        while (rejection == null && buf.isReadable()) {
+            try {
+                final int length = buf.readVarInt();
+                if (length > buf.readableBytes()) {
+                    truncated = true;
+                    break;
+                }
+                readRecord(new FriendlyByteBuf(buf.readSlice(length)), entries);
+                records++;
+            } catch (RuntimeException e) {
+                Constants.LOGGER.warn("Dropping unreadable dynamic dimension manifest record", e);
+                truncated = true;
+                break;
+            }
+        }
+
+        if (rejection != null) {
+            // never append to a file that cannot be read back, start a new manifest instead
+            this.moveAside();
+            this.known = true; // the new manifest starts empty
+            throw new IOException(rejection);
+        }
+
+        this.live.clear();
+        this.live.putAll(entries);
+        this.records = records;
+        this.known = true;
+        if (truncated || needsCompaction(records, entries.size())) {
+            try {
+                this.rewrite(entries.values());
+                this.records = entries.size();
+            } catch (IOException e) {
+                Constants.LOGGER.error("Failed to compact dynamic dimension manifest!", e);
+                if (truncated) {
+                    // records appended after the unreadable tail would be lost, so write the live dimensions to a fresh manifest
+                    this.moveAside();
+                    this.records = 0;
+                    for (Entry entry : entries.values()) {
+                        this.append(buf -> writePut(buf, entry));
+                    }
+                }
+            }
+        }
+        return entries;
+    }
+
+    private static boolean needsCompaction(int records, int live) {
+        return records > live * 2 + 64;
+    }
+
+    private @Nullable String checkHeader(@NotNull FriendlyByteBuf buf) {
+        if (buf.readableBytes() < 5 || buf.readInt() != MAGIC) {
+            return "'" + this.path + "' is not a dynamic dimension manifest";
+        }
+        final byte version = buf.readByte();
+        if (version != VERSION) {
+            return "Unsupported dynamic dimension manifest version " + version;
+        }
+        return null;
+    }
+
+    private void moveAside() {
+        final Path target = this.path.resolveSibling(this.path.getFileName() + ".corrupt");
+        try {
+            Files.move(this.path, target, StandardCopyOption.REPLACE_EXISTING);
+            Constants.LOGGER.warn("Moved unreadable dynamic dimension manifest to '{}'", target);
+        } catch (IOException e) {
+            Constants.LOGGER.error("Failed to move unreadable dynamic dimension manifest aside!", e);
+        }
+    }
+
+    private static void readRecord(@NotNull FriendlyByteBuf buf, @NotNull Map<ResourceLocation, Entry> entries) {
+        final byte op = buf.readByte();
+        final ResourceLocation id = buf.readResourceLocation();
+        switch (op) {
+            case PUT -> {
+                final byte state = buf.readByte();
+                final byte typeKind = buf.readByte();
+                final DimensionType type = typeKind == TYPE_REFERENCE ? null : DimensionTypeCodec.read(buf);
+                final ResourceLocation typeId = typeKind == TYPE_REFERENCE ? buf.readResourceLocation() : null;
+                final CompoundTag generator = buf.readNbt();
+                if (generator == null) throw new IllegalStateException("Missing chunk generator of dimension '" + id + "'");
+                entries.remove(id); // keep the position of the latest addition
+                entries.put(id, new Entry(id, generator, typeKind, type, typeId, state));
+            }
+            case STATE -> {
+                final byte state = buf.readByte();
+                entries.computeIfPresent(id, (key, entry) -> new Entry(id, entry.generator(), entry.typeKind(), entry.type(), entry.typeId(), state));
+            }
+            case REMOVE -> entries.remove(id);
+            default -> throw new IllegalStateException("Unknown dynamic dimension manifest record " + op);
+        }
+    }
+
+    public void put(@NotNull ResourceLocation id, @NotNull CompoundTag generator, byte typeKind, @NotNull DimensionType type, @NotNull ResourceLocation typeId, byte state) {
+        final Entry entry = new Entry(id, generator, typeKind, typeKind == TYPE_REFERENCE ? null : type, typeKind == TYPE_REFERENCE ? typeId : null, state);
+        this.live.remove(id); // keep the position of the latest addition
+        this.live.put(id, entry);
+        this.append(buf -> writePut(buf, entry));
+    }
+
+    public void setState(@NotNull ResourceLocation id, byte state) {
+        this.live.computeIfPresent(id, (key, entry) -> new Entry(id, entry.generator(), entry.typeKind(), entry.type(), entry.typeId(), state));
+        this.append(buf -> {
+            buf.writeByte(STATE);
+            buf.writeResourceLocation(id);
+            buf.writeByte(state);
+        });
+    }
+
+    public void remove(@NotNull ResourceLocation id) {
+        this.live.remove(id);
+        this.append(buf -> {
+            buf.writeByte(REMOVE);
+            buf.writeResourceLocation(id);
+        });
+    }
+
+    private static void writePut(@NotNull FriendlyByteBuf buf, @NotNull Entry entry) {
+        buf.writeByte(PUT);
+        buf.writeResourceLocation(entry.id());
+        buf.writeByte(entry.state());
+        buf.writeByte(entry.typeKind());
+        if (entry.typeKind() == TYPE_REFERENCE) {
+            buf.writeResourceLocation(entry.typeId());
+        } else {
+            DimensionTypeCodec.write(buf, entry.type());
+        }
+        buf.writeNbt(entry.generator());
+    }
+
+    private void append(@NotNull Consumer<FriendlyByteBuf> writer) {
+        writeRecord(new FriendlyByteBuf(this.pending), writer);
+        this.records++;
+    }
+
+    private static void writeRecord(@NotNull FriendlyByteBuf target, @NotNull Consumer<FriendlyByteBuf> writer) {
+        final FriendlyByteBuf record = new FriendlyByteBuf(Unpooled.buffer());
+        writer.accept(record);
+        target.writeVarInt(record.readableBytes());
+        target.writeBytes(record);
+    }
+
+    /**
+     * Writes the records appended since the last flush to disk.
+     * If most of the file is stale (for example, after many dormant/wake cycles), it is rewritten with only the live dimensions instead.
+     */
+    public void flush() {
+        if (!this.pending.isReadable()) return;
+        if (this.known && needsCompaction(this.records, this.live.size())) {
+            try {
+                this.closeChannel();
+                this.rewrite(this.live.values()); // already includes the pending records
+                this.pending.clear();
+                this.records = this.live.size();
+                return;
+            } catch (IOException e) {
+                Constants.LOGGER.error("Failed to compact dynamic dimension manifest!", e);
+            }
+        }
+        try {
+            if (this.channel == null) {
+                this.channel = FileChannel.open(this.path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                if (this.channel.size() == 0) {
+                    writeFully(this.channel, header());
+                }
+            }
+            writeFully(this.channel, this.pending.nioBuffer());
+            this.pending.clear();
+        } catch (IOException e) {
+            Constants.LOGGER.error("Failed to write dynamic dimension manifest!", e);
+        }
+    }
+
+    private void rewrite(@NotNull Collection<Entry> entries) throws IOException {
+        final FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        buf.writeBytes(header());
+        for (Entry entry : entries) {
+            writeRecord(buf, record -> writePut(record, entry));
+        }
+
+        final Path temp = this.path.resolveSibling(this.path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, buf.nioBuffer());
+        }
+        Files.move(temp, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static @NotNull ByteBuffer header() {
+        return ByteBuffer.allocate(5).putInt(MAGIC).put(VERSION).flip();
+    }
+
+    private static void writeFully(@NotNull FileChannel channel, @NotNull ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    @Override
+    public void close() {
+        this.flush();
+        this.closeChannel();
+    }
+
+    private void closeChannel() {
+        if (this.channel != null) {
+            try {
+                this.channel.close();
+            } catch (IOException e) {
+                Constants.LOGGER.error("Failed to close dynamic dimension manifest!", e);
+            }
+            this.channel = null;
+        }
+    }
+}
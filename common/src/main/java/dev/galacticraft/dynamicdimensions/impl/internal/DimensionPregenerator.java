@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2021-2024 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.dynamicdimensions.impl.internal;
+
+import dev.galacticraft.dynamicdimensions.impl.Constants;
+import dev.galacticraft.dynamicdimensions.impl.mixin.ChunkMapAccessor;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.TicketType;
+import net.minecraft.server.level.progress.ChunkProgressListener;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.chunk.ChunkStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Comparator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates the chunks around the spawn point of a level, nearest first, a limited number of chunks per tick.
+ * Generation itself runs on the chunk map's worker threads; progress is reported to the level's chunk progress listener.
+ * Each chunk is held by a ticket until it has been generated, after which it may unload (and be saved) as usual.
+ */
+public final class DimensionPregenerator {
+    private static final TicketType<ChunkPos> PREGENERATION = TicketType.create(Constants.MOD_ID + ":pregeneration", Comparator.comparingLong(ChunkPos::toLong));
+
+    private final @NotNull ServerLevel level;
+    private final @NotNull ChunkProgressListener progressListener;
+    private final @NotNull LongList chunks;
+    private final @NotNull LongList failed = new LongArrayList();
+    private final @NotNull AtomicInteger inFlight = new AtomicInteger();
+    private final @NotNull CompletableFuture<Boolean> result = new CompletableFuture<>();
+    private int next = 0;
+
+    public DimensionPregenerator(@NotNull ServerLevel level, int radius) {
+        this.level = level;
+        this.progressListener = ((ChunkMapAccessor) level.getChunkSource().chunkMap).getProgressListener();
+
+        ChunkPos center = new ChunkPos(level.getSharedSpawnPos());
+        this.chunks = new LongArrayList((2 * radius + 1) * (2 * radius + 1));
+        this.chunks.add(center.toLong());
+        for (int ring = 1; ring <= radius; ring++) {
+            for (int i = -ring; i < ring; i++) {
+                this.chunks.add(ChunkPos.asLong(center.x + i, center.z - ring));
+                this.chunks.add(ChunkPos.asLong(center.x + ring, center.z + i));
+                this.chunks.add(ChunkPos.asLong(center.x - i, center.z + ring));
+                this.chunks.add(ChunkPos.asLong(center.x - ring, center.z - i));
+            }
+        }
+
+        this.progressListener.updateSpawnPos(center);
+        this.progressListener.start();
+    }
+
+    public @NotNull ServerLevel level() {
+        return this.level;
+    }
+
+    /**
+     * @return completes with {@code true} once every chunk has been generated,
+     * or {@code false} if generation was cancelled or any chunk failed to generate
+     */
+    public @NotNull CompletableFuture<Boolean> result() {
+        return this.result;
+    }
+
+    /**
+     * Requests the next chunks. Must be called on the server thread.
+     *
+     * @param budget the maximum number of chunks to request, and to have in flight at once
+     * @return whether every chunk has been generated
+     */
+    public boolean tick(int budget) {
+        for (int requested = 0; requested < budget && this.inFlight.get() < budget && this.next < this.chunks.size(); requested++) {
+            long pos = this.chunks.getLong(this.next++);
+            ChunkPos chunkPos = new ChunkPos(pos);
+            this.inFlight.incrementAndGet();
+            // the ticket added by getChunkFuture itself expires after a tick, which may unload the chunk before it is done
+            this.level.getChunkSource().addRegionTicket(PREGENERATION, chunkPos, 0, chunkPos);
+            this.level.getChunkSource().getChunkFuture(chunkPos.x, chunkPos.z, ChunkStatus.FULL, true)
+                    .whenCompleteAsync((chunk, throwable) -> {
+                        this.level.getChunkSource().removeRegionTicket(PREGENERATION, chunkPos, 0, chunkPos);
+                        if (throwable != null || chunk.right().isPresent()) {
+                            this.failed.add(pos);
+                        }
+                        this.inFlight.decrementAndGet();
+                    }, this.level.getServer());
+        }
+
+        if (this.next >= this.chunks.size() && this.inFlight.get() == 0) {
+            this.progressListener.stop();
+            if (!this.failed.isEmpty()) {
+                Constants.LOGGER.warn("Failed to generate {} of {} chunks in dimension '{}'", this.failed.size(), this.chunks.size(), this.level.dimension().location());
+            }
+            this.result.complete(this.failed.isEmpty());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return the chunks that failed to generate so far, as {@link ChunkPos#toLong() packed positions}
+     */
+    public @NotNull LongList failedChunks() {
+        return this.failed;
+    }
+
+    public void cancel() {
+        this.progressListener.stop();
+        this.result.complete(false);
+    }
+}
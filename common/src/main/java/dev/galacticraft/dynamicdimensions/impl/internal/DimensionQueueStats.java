@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2021-2024 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.dynamicdimensions.impl.internal;
+
+/**
+ * A snapshot of the dimension queues of a server.
+ *
+ * @param pendingCreations dimensions being prepared off-thread
+ * @param pendingLevels    levels waiting to be added to the server
+ * @param pendingDeletions dimensions waiting to be unloaded or deleted
+ * @param closingLevels    removed levels waiting for their chunks to be written
+ * @param idleUnloads      idle dimensions waiting to be unloaded
+ * @param carriedOver      the number of operations that did not fit in the budget of the last tick
+ * @param totalCarriedOver the number of operations that have been carried over since the server started
+ */
+public record DimensionQueueStats(int pendingCreations, int pendingLevels, int pendingDeletions, int closingLevels, int idleUnloads,
+                                  int carriedOver, long totalCarriedOver) {
+}
@@ -27,5 +27,7 @@ import net.minecraft.resources.ResourceKey;
 import net.minecraft.world.level.Level;
 import org.jetbrains.annotations.Nullable;
 
-public record DimensionRemovalTicket(ResourceKey<Level> key, @Nullable PlayerRemover removalMode, boolean removeFiles) {
+import java.util.concurrent.CompletableFuture;
+
+public record DimensionRemovalTicket(ResourceKey<Level> key, @Nullable PlayerRemover removalMode, boolean removeFiles, CompletableFuture<Boolean> result) {
 }
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2021-2024 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.dynamicdimensions.impl.internal;
+
+import dev.galacticraft.dynamicdimensions.api.DimensionPool;
+import dev.galacticraft.dynamicdimensions.api.DynamicDimensionRegistry;
+import dev.galacticraft.dynamicdimensions.api.PlayerRemover;
+import dev.galacticraft.dynamicdimensions.impl.Constants;
+import net.minecraft.core.Holder;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.chunk.ChunkGenerator;
+import net.minecraft.world.level.dimension.DimensionType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.Predicate;
+
+public final class DynamicDimensionPool implements DimensionPool {
+    private final @NotNull DynamicDimensionRegistry registry;
+    private final @NotNull ResourceLocation id;
+    private final @NotNull ChunkGenerator generator;
+    private final @NotNull Holder<DimensionType> type;
+    private final int size;
+    private final Deque<ResourceLocation> emptySlots = new ArrayDeque<>();
+    private final Deque<ServerLevel> available = new ArrayDeque<>();
+    private final Set<ResourceLocation> acquired = new HashSet<>();
+    private boolean closed = false;
+
+    public DynamicDimensionPool(@NotNull DynamicDimensionRegistry registry, @NotNull ResourceLocation id, @NotNull ChunkGenerator generator, @NotNull Holder<DimensionType> type, int size) {
+        this.registry = registry;
+        this.id = id;
+        this.generator = generator;
+        this.type = type;
+        this.size = size;
+        for (int i = 0; i < size; i++) {
+            this.emptySlots.add(new ResourceLocation(id.getNamespace(), id.getPath() + "/" + i));
+        }
+    }
+
+    @Override
+    public @NotNull ResourceLocation id() {
+        return this.id;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public int available() {
+        return this.available.size();
+    }
+
+    @Override
+    public @Nullable ServerLevel acquire() {
+        ServerLevel level;
+        while ((level = this.available.poll()) != null) {
+            ResourceLocation slot = level.dimension().location();
+            if (this.registry.dynamicDimensionExists(slot)) {
+                this.acquired.add(slot);
+                this.registry.setDimensionPinned(slot, false);
+                return level;
+            }
+            this.emptySlots.add(slot); // removed by someone else
+        }
+        return null;
+    }
+
+    @Override
+    public boolean release(@NotNull ResourceLocation id, @Nullable PlayerRemover remover) {
+        if (!this.acquired.remove(id)) return false;
+        this.registry.deleteDynamicDimension(id, remover);
+        if (!this.closed) {
+            this.emptySlots.add(id);
+        }
+        return true;
+    }
+
+    @Override
+    public void close(@Nullable PlayerRemover remover) {
+        this.closed = true;
+        this.emptySlots.clear();
+        for (ServerLevel level : this.available) {
+            this.registry.deleteDynamicDimension(level.dimension().location(), remover);
+        }
+        this.available.clear();
+    }
+
+    public boolean isClosed() {
+        return this.closed;
+    }
+
+    public boolean needsRefill() {
+        return !this.emptySlots.isEmpty();
+    }
+
+    /**
+     * Loads a fresh dimension into the first empty slot that is ready to be reused.
+     *
+     * @param ready whether the previous dimension of a slot has finished closing
+     * @return whether a slot was worked on
+     */
+    public boolean refill(@NotNull Predicate<ResourceLocation> ready) {
+        for (Iterator<ResourceLocation> iterator = this.emptySlots.iterator(); iterator.hasNext(); ) {
+            ResourceLocation slot = iterator.next();
+            if (!ready.test(slot)) continue;
+
+            if (this.registry.dynamicDimensionExists(slot)) {
+                // left over from a previous pool, it can be reused once it has been deleted
+                this.registry.deleteDynamicDimension(slot, PlayerRemover.DEFAULT);
+                return true;
+            }
+
+            iterator.remove();
+            ServerLevel level = this.registry.createDynamicDimension(slot, this.generator, this.type);
+            if (level != null) {
+                this.registry.setDimensionPinned(slot, true); // never unload a level that is waiting to be handed out
+                this.available.add(level);
+            } else {
+                Constants.LOGGER.warn("Failed to fill slot '{}' of dimension pool '{}'", slot, this.id);
+                this.emptySlots.add(slot);
+            }
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2021-2024 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.dynamicdimensions.impl.internal;
+
+import dev.galacticraft.dynamicdimensions.impl.Constants;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.core.Registry;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.dimension.DimensionType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Deduplicates structurally equal dimension types, so that many dimensions can share one registry entry.
+ * Shared types are reference counted by the dimensions using them.
+ */
+public final class SharedDimensionTypes {
+    private final Map<CompoundTag, ResourceLocation> byContent = new HashMap<>();
+    private final Map<ResourceLocation, CompoundTag> contents = new HashMap<>();
+    private final Object2IntMap<ResourceLocation> references = new Object2IntOpenHashMap<>();
+
+    /**
+     * Returns the id of the shared type with the given contents.
+     *
+     * @param encoded the encoded dimension type
+     * @return the id of the shared type, or {@code null} if there is none
+     */
+    public @Nullable ResourceLocation get(@NotNull CompoundTag encoded) {
+        return this.byContent.get(encoded);
+    }
+
+    /**
+     * Picks an unused id for a new shared type and starts tracking it.
+     * The caller is responsible for registering the type.
+     *
+     * @param registry the dimension type registry
+     * @param encoded  the encoded dimension type
+     * @return the id of the new shared type
+     */
+    public @NotNull ResourceLocation add(@NotNull Registry<DimensionType> registry, @NotNull CompoundTag encoded) {
+        String base = "shared/" + Integer.toHexString(encoded.hashCode());
+        ResourceLocation id = new ResourceLocation(Constants.MOD_ID, base);
+        for (int i = 1; registry.containsKey(id) || this.contents.containsKey(id); i++) {
+            id = new ResourceLocation(Constants.MOD_ID, base + "_" + i);
+        }
+        this.byContent.put(encoded, id);
+        this.contents.put(id, encoded);
+        return id;
+    }
+
+    public boolean isShared(@NotNull ResourceLocation id) {
+        return this.contents.containsKey(id);
+    }
+
+    public void acquire(@NotNull ResourceLocation id) {
+        this.references.mergeInt(id, 1, Integer::sum);
+    }
+
+    /**
+     * Releases a reference to a shared type.
+     *
+     * @param id the id of the shared type
+     * @return whether the type is no longer used, in which case it has stopped being tracked and should be unregistered
+     */
+    public boolean release(@NotNull ResourceLocation id) {
+        int count = this.references.getInt(id) - 1;
+        if (count > 0) {
+            this.references.put(id, count);
+            return false;
+        }
+        this.references.removeInt(id);
+        this.byContent.remove(this.contents.remove(id));
+        return true;
+    }
+}
@@ -23,6 +23,7 @@
 package dev.galacticraft.dynamicdimensions.impl.mixin;
 
 import net.minecraft.server.level.ChunkMap;
+import net.minecraft.server.level.progress.ChunkProgressListener;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.gen.Accessor;
 
@@ -30,4 +31,7 @@ import org.spongepowered.asm.mixin.gen.Accessor;
 public interface ChunkMapAccessor {
     @Accessor("serverViewDistance")
     int getViewDistance();
+
+    @Accessor("progressListener")
+    ChunkProgressListener getProgressListener();
 }
@@ -22,7 +22,10 @@
 
 package dev.galacticraft.dynamicdimensions.impl.mixin;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.server.level.DistanceManager;
+import net.minecraft.server.level.Ticket;
+import net.minecraft.util.SortedArraySet;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.gen.Accessor;
 
@@ -30,4 +33,7 @@ import org.spongepowered.asm.mixin.gen.Accessor;
 public interface DistanceManagerAccessor {
     @Accessor("simulationDistance")
     int getSimulationDistance();
+
+    @Accessor("tickets")
+    Long2ObjectOpenHashMap<SortedArraySet<Ticket<?>>> getTickets();
 }
@@ -24,18 +24,39 @@ package dev.galacticraft.dynamicdimensions.impl.mixin;
 
 import com.google.common.collect.ImmutableList;
 import com.mojang.datafixers.DataFixer;
+import com.mojang.datafixers.util.Pair;
 import com.mojang.serialization.DataResult;
+import dev.galacticraft.dynamicdimensions.api.DimensionPool;
+import dev.galacticraft.dynamicdimensions.api.DimensionVisibility;
 import dev.galacticraft.dynamicdimensions.api.DynamicDimensionRegistry;
 import dev.galacticraft.dynamicdimensions.api.PlayerRemover;
 import dev.galacticraft.dynamicdimensions.api.event.DimensionAddedCallback;
 import dev.galacticraft.dynamicdimensions.api.event.DimensionRemovedCallback;
 import dev.galacticraft.dynamicdimensions.api.event.DynamicDimensionLoadCallback;
 import dev.galacticraft.dynamicdimensions.impl.Constants;
+import dev.galacticraft.dynamicdimensions.impl.accessor.DimensionAdmissionAccessor;
+import dev.galacticraft.dynamicdimensions.impl.accessor.DimensionManifestAccessor;
+import dev.galacticraft.dynamicdimensions.impl.accessor.DimensionQueueAccessor;
 import dev.galacticraft.dynamicdimensions.impl.accessor.PrimaryLevelDataAccessor;
+import dev.galacticraft.dynamicdimensions.impl.internal.BatchedDimensionLoader;
+import dev.galacticraft.dynamicdimensions.impl.internal.DimensionActivityTracker;
+import dev.galacticraft.dynamicdimensions.impl.internal.DimensionClosingTicket;
+import dev.galacticraft.dynamicdimensions.impl.internal.DimensionCreationTicket;
+import dev.galacticraft.dynamicdimensions.impl.internal.DimensionDataDeleter;
+import dev.galacticraft.dynamicdimensions.impl.internal.DimensionManifestFile;
+import dev.galacticraft.dynamicdimensions.impl.internal.DimensionPregenerator;
+import dev.galacticraft.dynamicdimensions.impl.internal.DimensionQueueStats;
 import dev.galacticraft.dynamicdimensions.impl.internal.DimensionRemovalTicket;
+import dev.galacticraft.dynamicdimensions.impl.internal.DimensionTemplates;
+import dev.galacticraft.dynamicdimensions.impl.internal.DynamicDimensionPool;
+import dev.galacticraft.dynamicdimensions.impl.internal.SharedDimensionTypes;
+import dev.galacticraft.dynamicdimensions.impl.network.DimensionPacketBroadcaster;
+import dev.galacticraft.dynamicdimensions.impl.network.DimensionTypeCodec;
 import dev.galacticraft.dynamicdimensions.impl.registry.RegistryUtil;
 import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
 import lol.bai.badpackets.api.PacketSender;
+import net.minecraft.Util;
 import net.minecraft.core.Holder;
 import net.minecraft.core.LayeredRegistryAccess;
 import net.minecraft.core.Registry;
@@ -44,8 +65,8 @@ import net.minecraft.core.registries.Registries;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.NbtOps;
 import net.minecraft.nbt.Tag;
+import net.minecraft.resources.RegistryOps;
 import net.minecraft.network.FriendlyByteBuf;
-import net.minecraft.network.protocol.common.ClientboundUpdateTagsPacket;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.MinecraftServer;
@@ -59,7 +80,6 @@ import net.minecraft.server.packs.repository.PackRepository;
 import net.minecraft.server.players.PlayerList;
 import net.minecraft.tags.TagKey;
 import net.minecraft.tags.TagManager;
-import net.minecraft.tags.TagNetworkSerialization;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.biome.BiomeManager;
 import net.minecraft.world.level.border.BorderChangeListener;
@@ -67,9 +87,9 @@ import net.minecraft.world.level.chunk.ChunkGenerator;
 import net.minecraft.world.level.dimension.DimensionType;
 import net.minecraft.world.level.dimension.LevelStem;
 import net.minecraft.world.level.storage.DerivedLevelData;
+import net.minecraft.world.level.storage.LevelResource;
 import net.minecraft.world.level.storage.LevelStorageSource;
 import net.minecraft.world.level.storage.WorldData;
-import org.apache.commons.io.FileUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.spongepowered.asm.mixin.Final;
@@ -78,20 +98,35 @@ import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 import java.io.IOException;
 import java.net.Proxy;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
 import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 
 @Mixin(MinecraftServer.class)
-public abstract class MinecraftServerMixin implements DynamicDimensionRegistry {
+public abstract class MinecraftServerMixin implements DynamicDimensionRegistry, DimensionQueueAccessor, DimensionManifestAccessor, DimensionAdmissionAccessor {
     @Shadow
     @Final
     protected LevelStorageSource.LevelStorageAccess storageSource;
@@ -122,78 +157,514 @@ public abstract class MinecraftServerMixin implements DynamicDimensionRegistry {
     @Shadow
     public abstract LayeredRegistryAccess<RegistryLayer> registries();
 
+    @Shadow
+    public abstract int getTickCount();
+
+    @Shadow
+    public abstract ServerLevel getLevel(ResourceKey<Level> key);
+
     @Unique
-    private final @NotNull List<ServerLevel> pendingLevels = new ArrayList<>();
+    private final @NotNull Map<ResourceKey<Level>, ServerLevel> pendingLevels = new LinkedHashMap<>();
     @Unique
     private final @NotNull List<DimensionRemovalTicket> pendingDeletions = new ArrayList<>();
     @Unique
-    private final @NotNull List<ResourceKey<Level>> dynamicDimensions = new ArrayList<>();
+    private final @NotNull List<DimensionCreationTicket> pendingCreations = new ArrayList<>();
+    @Unique
+    private final @NotNull Set<ResourceKey<Level>> pendingCreationKeys = new HashSet<>();
+    @Unique
+    private final @NotNull Map<ResourceKey<Level>, DimensionClosingTicket> closingLevels = new LinkedHashMap<>();
+    @Unique
+    private final @NotNull Set<ResourceKey<Level>> dynamicDimensions = new ObjectLinkedOpenHashSet<>();
+    @Unique
+    private final @NotNull List<Pair<ResourceKey<Level>, FriendlyByteBuf>> pendingDimensionPackets = new ArrayList<>();
+    @Unique
+    private final @NotNull Map<ResourceKey<Level>, ResourceLocation> pendingDimensionTypes = new HashMap<>(); // dimension -> type sent with it
+    @Unique
+    private final @NotNull Set<ResourceKey<Level>> dormantDimensions = new HashSet<>();
+    @Unique
+    private final @NotNull DimensionActivityTracker dormantActivity = new DimensionActivityTracker();
+    @Unique
+    private final @NotNull DimensionActivityTracker idleActivity = new DimensionActivityTracker();
+    @Unique
+    private final @NotNull Deque<ResourceKey<Level>> idleUnloads = new ArrayDeque<>();
+    @Unique
+    private final @NotNull Set<ResourceKey<Level>> idleUnloadKeys = new HashSet<>(); // membership of idleUnloads
+    @Unique
+    private final @NotNull Set<ResourceKey<Level>> pinnedDimensions = new HashSet<>();
+    @Unique
+    private final @NotNull SharedDimensionTypes sharedTypes = new SharedDimensionTypes();
+    @Unique
+    private final @NotNull Map<ResourceKey<Level>, BorderChangeListener> borderListeners = new HashMap<>();
+    @Unique
+    private final @NotNull Map<ResourceKey<Level>, DimensionVisibility> visibilities = new HashMap<>();
+    @Unique
+    private final @NotNull Map<ResourceKey<Level>, Set<UUID>> revealedTo = new HashMap<>(); // only for dimensions with a visibility
+    @Unique
+    private final @NotNull Map<UUID, List<ResourceKey<Level>>> pendingManifestLevels = new HashMap<>(); // sent once the player has logged in
+    @Unique
+    private final @NotNull Map<ResourceLocation, DynamicDimensionPool> pools = new LinkedHashMap<>();
+    @Unique
+    private final @NotNull Map<ResourceKey<Level>, DimensionPregenerator> pregenerators = new LinkedHashMap<>();
+    @Unique
+    private DimensionDataDeleter dataDeleter;
+    @Unique
+    private @Nullable DimensionManifestFile manifestFile = null;
+    @Unique
+    private int batchDepth = 0;
+    @Unique
+    private int queueOperations = 0;
+    @Unique
+    private long queueDeadline = 0;
+    @Unique
+    private int lastCarriedOver = 0;
+    @Unique
+    private long totalCarriedOver = 0;
     @Unique
     private boolean tickingLevels = false;
 
     @Inject(method = "<init>", at = @At("RETURN"))
     private void initDynamicDimensions(Thread thread, LevelStorageSource.LevelStorageAccess levelStorageAccess, PackRepository packRepository, WorldStem worldStem, Proxy proxy, DataFixer dataFixer, Services services, ChunkProgressListenerFactory chunkProgressListenerFactory, CallbackInfo ci) {
-        ((PrimaryLevelDataAccessor) worldStem.worldData()).dynamicDimensions$setDynamicList(this.dynamicDimensions);
+        ((PrimaryLevelDataAccessor) worldStem.worldData()).dynamicDimensions$setDynamicDimensions(this.dynamicDimensions);
+        this.dataDeleter = new DimensionDataDeleter(levelStorageAccess.getLevelPath(LevelResource.ROOT), Constants.CONFIG.deletionFilesPerSecond());
+        if (Constants.CONFIG.persistDynamicDimensions()) {
+            this.manifestFile = new DimensionManifestFile(levelStorageAccess.getLevelPath(LevelResource.ROOT).resolve("dynamicdimensions.dat"));
+        }
     }
 
     @Inject(method = "tickServer", at = @At(value = "INVOKE", target = "Lnet/minecraft/server/MinecraftServer;tickChildren(Ljava/util/function/BooleanSupplier;)V", shift = At.Shift.BEFORE))
     private void addLevels(BooleanSupplier shouldKeepTicking, CallbackInfo ci) {
+        if (!this.pendingCreations.isEmpty()) {
+            List<DimensionCreationTicket> ready = new ArrayList<>();
+            for (DimensionCreationTicket ticket : this.pendingCreations) {
+                if (ready.size() >= Constants.CONFIG.maxDimensionCommitsPerTick()) break;
+                if (ticket.preparation().isDone()) ready.add(ticket);
+            }
+            this.pendingCreations.removeAll(ready);
+            for (DimensionCreationTicket ticket : ready) {
+                this.pendingCreationKeys.remove(ticket.key());
+            }
+            try (Batch ignored = this.batch()) {
+                for (DimensionCreationTicket ticket : ready) {
+                    this.commitDynamicLevel(ticket);
+                }
+            }
+        }
+
+        this.queueOperations = 0;
+        this.queueDeadline = Util.getNanos() + Constants.CONFIG.maxQueueMillisPerTick() * 1_000_000L;
+        int carriedOver = 0;
+
         if (!this.pendingLevels.isEmpty()) {
-            for (ServerLevel level : this.pendingLevels) {
+            Iterator<ServerLevel> iterator = this.pendingLevels.values().iterator();
+            while (iterator.hasNext() && this.consumeQueueBudget()) {
+                ServerLevel level = iterator.next();
+                iterator.remove();
                 this.registerLevel(level);
             }
-            this.pendingLevels.clear();
+            carriedOver += this.pendingLevels.size();
         }
 
-        if (!this.pendingDeletions.isEmpty()) {
+        // levels must be added before they can be removed
+        if (!this.pendingDeletions.isEmpty() && this.pendingLevels.isEmpty()) {
+            int removed = 0;
             for (DimensionRemovalTicket ticket : this.pendingDeletions) {
-                this.unloadLevel(ticket.key(), ticket.removalMode());
-                if (ticket.removeFiles()) {
-                    this.deleteLevelData(ticket.key());
+                if (!this.consumeQueueBudget()) break;
+                this.unloadLevel(ticket.key(), ticket.removalMode(), ticket.removeFiles(), ticket.result());
+                removed++;
+            }
+            this.pendingDeletions.subList(0, removed).clear();
+        }
+        carriedOver += this.pendingDeletions.size();
+
+        if (!this.closingLevels.isEmpty()) {
+            Iterator<DimensionClosingTicket> iterator = this.closingLevels.values().iterator();
+            while (iterator.hasNext()) {
+                DimensionClosingTicket ticket = iterator.next();
+                if (ticket.flushed().isDone()) {
+                    if (!this.consumeQueueBudget()) {
+                        carriedOver++;
+                        continue;
+                    }
+                    iterator.remove();
+                    this.closeLevel(ticket);
+                }
+            }
+        }
+
+        if (!this.dormantActivity.isEmpty() && this.getTickCount() % 20 == 0) {
+            List<ResourceKey<Level>> idle = new ArrayList<>();
+            this.dormantActivity.update(this.levels, this.getTickCount(), Constants.CONFIG.dormantIdleTicks(), idle);
+            for (ResourceKey<Level> key : idle) {
+                if (!this.pinnedDimensions.contains(key) && !this.pregenerators.containsKey(key)) {
+                    this.makeDormant(key);
+                }
+            }
+        }
+
+        int idleUnloadTicks = Constants.CONFIG.idleUnloadTicks();
+        if (idleUnloadTicks > 0) {
+            if (!this.idleActivity.isEmpty() && this.getTickCount() % 20 == 0) {
+                List<ResourceKey<Level>> idle = new ArrayList<>();
+                this.idleActivity.update(this.levels, this.getTickCount(), idleUnloadTicks, idle);
+                for (ResourceKey<Level> key : idle) {
+                    if (!this.pinnedDimensions.contains(key) && !this.pregenerators.containsKey(key) && this.idleUnloadKeys.add(key)) {
+                        this.idleUnloads.add(key);
+                    }
+                }
+            }
+            this.unloadIdleLevels();
+            carriedOver += this.idleUnloads.size();
+        } else if (!this.idleUnloads.isEmpty()) {
+            this.idleUnloads.clear();
+            this.idleUnloadKeys.clear();
+        }
+
+        if (!this.pregenerators.isEmpty()) {
+            // pre-generation has its own chunk budget, shared by all levels being generated
+            int budget = Math.max(1, Constants.CONFIG.pregenerationChunksPerTick() / this.pregenerators.size());
+            this.pregenerators.values().removeIf(pregenerator -> pregenerator.tick(budget));
+        }
+
+        // pools are only refilled once everything else is done, one slot per pool per tick
+        if (!this.pools.isEmpty()) {
+            this.pools.values().removeIf(DynamicDimensionPool::isClosed);
+            for (DynamicDimensionPool pool : this.pools.values()) {
+                if (carriedOver > 0 || !pool.needsRefill() || !this.consumeQueueBudget()) continue;
+                pool.refill(this::isSlotReady);
+            }
+        }
+
+        if (carriedOver > 0) {
+            Constants.LOGGER.debug("Dimension queue budget exhausted after {} operations, carrying over {} ({} levels to add, {} to remove, {} to close)",
+                    this.queueOperations, carriedOver, this.pendingLevels.size(), this.pendingDeletions.size(), this.closingLevels.size());
+            this.totalCarriedOver += carriedOver;
+        }
+        this.lastCarriedOver = carriedOver;
+
+        if (this.manifestFile != null) {
+            this.manifestFile.flush();
+        }
+    }
+
+    @Unique
+    private boolean isSlotReady(@NotNull ResourceLocation id) {
+        final ResourceKey<Level> key = ResourceKey.create(Registries.DIMENSION, id);
+        if (this.closingLevels.containsKey(key) || this.isIdPendingCreation(id)) return false;
+        for (DimensionRemovalTicket ticket : this.pendingDeletions) {
+            if (ticket.key().equals(key)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Counts an operation against the queue budget of the current tick.
+     * At least one operation is allowed every tick, so that the queues always make progress.
+     *
+     * @return whether the operation may run this tick
+     */
+    @Unique
+    private boolean consumeQueueBudget() {
+        if (this.queueOperations > 0 && (this.queueOperations >= Constants.CONFIG.maxQueueOperationsPerTick() || Util.getNanos() >= this.queueDeadline)) {
+            return false;
+        }
+        this.queueOperations++;
+        return true;
+    }
+
+    @Override
+    public @NotNull DimensionQueueStats dynamicDimensions$getQueueStats() {
+        return new DimensionQueueStats(this.pendingCreations.size(), this.pendingLevels.size(), this.pendingDeletions.size(),
+                this.closingLevels.size(), this.idleUnloads.size(), this.lastCarriedOver, this.totalCarriedOver);
+    }
+
+    @Override
+    public boolean dynamicDimensions$isDynamicType(@NotNull ResourceLocation id) {
+        return this.dynamicDimensions.contains(ResourceKey.create(Registries.DIMENSION, id)) || this.sharedTypes.isShared(id);
+    }
+
+    @Override
+    public void dynamicDimensions$sendManifest(@NotNull ServerPlayer player) {
+        final List<ResourceKey<Level>> keys = new ArrayList<>(this.dynamicDimensions.size());
+        for (ResourceKey<Level> key : this.dynamicDimensions) {
+            if (this.isVisibleOnLogin(player, key)) {
+                if (this.visibilities.containsKey(key)) {
+                    this.revealedTo.computeIfAbsent(key, k -> new HashSet<>()).add(player.getUUID());
                 }
+                keys.add(key);
+            }
+        }
+        this.sendManifestTypes(player, keys);
+        this.pendingManifestLevels.put(player.getUUID(), keys);
+    }
+
+    @Override
+    public void dynamicDimensions$sendManifestLevels(@NotNull ServerPlayer player) {
+        final List<ResourceKey<Level>> keys = this.pendingManifestLevels.remove(player.getUUID());
+        if (keys != null) {
+            this.sendManifestLevels(player, keys);
+        }
+    }
+
+    @Override
+    public @NotNull Set<ResourceKey<Level>> dynamicDimensions$filterLoginLevels(@NotNull ServerPlayer player, @NotNull Set<ResourceKey<Level>> levels) {
+        if (this.visibilities.isEmpty()) return levels;
+        final Set<ResourceKey<Level>> filtered = new LinkedHashSet<>(levels);
+        filtered.removeIf(key -> !this.isVisibleOnLogin(player, key));
+        return filtered;
+    }
+
+    /**
+     * Returns whether a logging in player may know about the given dimension.
+     * Players always know about the dimension they are in.
+     */
+    @Unique
+    private boolean isVisibleOnLogin(@NotNull ServerPlayer player, @NotNull ResourceKey<Level> key) {
+        final DimensionVisibility visibility = this.visibilities.get(key);
+        return visibility == null || key.equals(player.serverLevel().dimension()) || visibility.isVisible(player, key.location());
+    }
+
+    @Override
+    public void dynamicDimensions$revealDimension(@NotNull ServerPlayer player, @NotNull ResourceKey<Level> key) {
+        Set<UUID> revealed = this.revealedTo.get(key);
+        if (revealed != null && revealed.add(player.getUUID())) {
+            this.sendManifestTypes(player, List.of(key));
+            this.sendManifestLevels(player, List.of(key));
+        }
+    }
+
+    @Override
+    public boolean dynamicDimensions$isRevealedTo(@NotNull ServerPlayer player, @NotNull ResourceKey<Level> key) {
+        Set<UUID> revealed = this.revealedTo.get(key);
+        return revealed != null && revealed.contains(player.getUUID());
+    }
+
+    @Override
+    public void dynamicDimensions$forgetPlayer(@NotNull ServerPlayer player) {
+        for (Set<UUID> revealed : this.revealedTo.values()) {
+            revealed.remove(player.getUUID());
+        }
+        this.pendingManifestLevels.remove(player.getUUID());
+    }
+
+    /**
+     * Returns the players that should be told about a new dimension, remembering who was told about it.
+     */
+    @Unique
+    private @NotNull List<ServerPlayer> revealDimension(@NotNull ResourceKey<Level> key) {
+        DimensionVisibility visibility = this.visibilities.get(key);
+        if (visibility == null) return this.getPlayerList().getPlayers();
+
+        Set<UUID> revealed = this.revealedTo.computeIfAbsent(key, k -> new HashSet<>());
+        List<ServerPlayer> players = new ArrayList<>();
+        for (ServerPlayer player : this.getPlayerList().getPlayers()) {
+            if (revealed.contains(player.getUUID()) || visibility.isVisible(player, key.location())) {
+                revealed.add(player.getUUID());
+                players.add(player);
+            }
+        }
+        return players;
+    }
+
+    @Unique
+    private @NotNull List<ServerPlayer> getRevealedPlayers(@NotNull ResourceKey<Level> key) {
+        Set<UUID> revealed = this.revealedTo.get(key);
+        if (revealed == null) return this.getPlayerList().getPlayers();
+
+        List<ServerPlayer> players = new ArrayList<>(revealed.size());
+        for (UUID uuid : revealed) {
+            ServerPlayer player = this.getPlayerList().getPlayer(uuid);
+            if (player != null) players.add(player);
+        }
+        return players;
+    }
+
+    /**
+     * Sends the types (and their tags) of the given dynamic dimensions to a player, if they are owned by dynamic dimensions.
+     * This is sent before the login packet, so it must not depend on the client's level list.
+     */
+    @Unique
+    private void sendManifestTypes(@NotNull ServerPlayer player, @NotNull Collection<ResourceKey<Level>> keys) {
+        if (keys.isEmpty()) return;
+
+        final Registry<DimensionType> typeRegistry = this.registryAccess().registryOrThrow(Registries.DIMENSION_TYPE);
+        final Registry<LevelStem> stemRegistry = this.registries().compositeAccess().registryOrThrow(Registries.LEVEL_STEM);
+        final Map<ResourceLocation, Holder<DimensionType>> types = new LinkedHashMap<>(); // shared types are only sent once
+        for (ResourceKey<Level> key : keys) {
+            Holder<DimensionType> type = stemRegistry.getOrThrow(ResourceKey.create(Registries.LEVEL_STEM, key.location())).type();
+            ResourceLocation typeId = type.unwrapKey().orElseThrow().location();
+            if (this.dynamicDimensions$isDynamicType(typeId)) {
+                types.putIfAbsent(typeId, type);
+            }
+        }
+        if (types.isEmpty()) return;
+
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        buf.writeVarInt(types.size());
+        types.forEach((typeId, type) -> {
+            buf.writeResourceLocation(typeId);
+            buf.writeVarInt(typeRegistry.getId(type.value()));
+            DimensionTypeCodec.write(buf, type.value());
+            buf.writeCollection(type.tags().toList(), (b, tag) -> b.writeResourceLocation(tag.location()));
+        });
+        PacketSender.s2c(player).send(Constants.DIMENSION_MANIFEST_PACKET, buf);
+    }
+
+    /**
+     * Adds the given dynamic dimensions to a player's level list. Must be sent after the login packet, which replaces that list.
+     */
+    @Unique
+    private void sendManifestLevels(@NotNull ServerPlayer player, @NotNull Collection<ResourceKey<Level>> keys) {
+        if (keys.isEmpty()) return;
+
+        final Registry<LevelStem> stemRegistry = this.registries().compositeAccess().registryOrThrow(Registries.LEVEL_STEM);
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        buf.writeVarInt(keys.size());
+        for (ResourceKey<Level> key : keys) {
+            buf.writeResourceLocation(key.location());
+            buf.writeResourceLocation(stemRegistry.getOrThrow(ResourceKey.create(Registries.LEVEL_STEM, key.location())).type().unwrapKey().orElseThrow().location());
+        }
+        PacketSender.s2c(player).send(Constants.DIMENSION_LEVELS_PACKET, buf);
+    }
+
+    @Unique
+    private void unloadIdleLevels() {
+        int unloaded = 0;
+        while (unloaded < Constants.CONFIG.maxIdleUnloadsPerTick() && !this.idleUnloads.isEmpty()) {
+            ResourceKey<Level> key = this.idleUnloads.poll();
+            this.idleUnloadKeys.remove(key);
+            ServerLevel level = this.levels.get(key);
+            if (level == null || !this.idleActivity.isTracked(key) || this.pinnedDimensions.contains(key)) continue;
+            if (DimensionActivityTracker.isActive(level)) {
+                // became active again while queued, restart the idle timer
+                this.idleActivity.track(key, this.getTickCount());
+                continue;
+            }
+            if (!this.consumeQueueBudget()) {
+                this.idleUnloads.addFirst(key);
+                this.idleUnloadKeys.add(key);
+                break;
             }
-            this.pendingDeletions.clear();
+
+            Constants.LOGGER.debug("Dynamic dimension '{}' has been empty for {} ticks, unloading it", key.location(), this.getTickCount() - Math.max(this.idleActivity.getLastPlayerTick(key), this.idleActivity.getLastTicketTick(key)));
+            this.unloadLevel(key, PlayerRemover.DEFAULT, false, new CompletableFuture<>());
+            unloaded++;
         }
     }
 
     @Unique
-    private void unloadLevel(ResourceKey<Level> key, PlayerRemover playerRemover) {
-        try (ServerLevel level = this.levels.remove(key)) {
+    private void unloadLevel(ResourceKey<Level> key, PlayerRemover playerRemover, boolean removeFiles, CompletableFuture<Boolean> result) {
+        ServerLevel level = null;
+        if (!this.dormantDimensions.remove(key)) { // dormant dimensions have no level to close
+            level = this.levels.remove(key);
             if (level == null) {
                 assert !this.dynamicDimensions.contains(key);
+                result.complete(false);
                 return;
             }
             DimensionRemovedCallback.invoke(key, level);
+            this.overworld().getWorldBorder().removeListener(this.borderListeners.remove(key));
 
             List<ServerPlayer> players = new ArrayList<>(level.players()); // prevent co-modification
             for (ServerPlayer player : players) {
                 playerRemover.removePlayer((MinecraftServer) (Object) this, player);
             }
-
-            level.save(null, true, false);
-        } catch (IOException e) {
-            Constants.LOGGER.error("Failed to close level upon removal! Memory may have been leaked.", e);
         }
+        this.dormantActivity.untrack(key);
+        this.idleActivity.untrack(key);
+        this.pinnedDimensions.remove(key);
 
-        RegistryUtil.unregister(this.registries().compositeAccess().registryOrThrow(Registries.LEVEL_STEM), key.location());
-        RegistryUtil.unregister(this.registries().compositeAccess().registryOrThrow(Registries.DIMENSION_TYPE), key.location());
+        final Registry<LevelStem> stemRegistry = this.registries().compositeAccess().registryOrThrow(Registries.LEVEL_STEM);
+        final LevelStem stem = stemRegistry.get(key.location());
+        final ResourceLocation typeId = stem != null ? stem.type().unwrapKey().map(ResourceKey::location).orElse(null) : null;
+        RegistryUtil.unregister(stemRegistry, key.location());
+        final boolean removeType = typeId != null && this.releaseDimensionType(key.location(), typeId);
         this.dynamicDimensions.remove(key);
+        if (this.manifestFile != null) {
+            this.manifestFile.remove(key.location());
+        }
 
+        if (this.isDimensionAnnouncementPending(key)) {
+            // created in the current batch: clients must learn about the dimension (and its type) before it is removed
+            this.flushDimensionUpdates();
+        }
         FriendlyByteBuf packetByteBuf = new FriendlyByteBuf(Unpooled.buffer());
         packetByteBuf.writeResourceLocation(key.location());
-        this.getPlayerList().getPlayers().forEach(player -> PacketSender.s2c(player).send(Constants.REMOVE_DIMENSION_PACKET, packetByteBuf));
+        packetByteBuf.writeBoolean(removeType);
+        if (removeType) {
+            packetByteBuf.writeResourceLocation(typeId);
+        }
+        DimensionPacketBroadcaster.broadcast(this.getRevealedPlayers(key), Constants.REMOVE_DIMENSION_PACKET, packetByteBuf);
+        this.visibilities.remove(key);
+        this.revealedTo.remove(key);
+
+        if (level != null) {
+            this.cancelPregeneration(key);
+            this.beginClosingLevel(level, removeFiles, result);
+        } else {
+            this.finishClosingLevel(key); // may still be closing after becoming dormant
+            if (removeFiles) {
+                this.deleteLevelData(key);
+            }
+            result.complete(true);
+        }
     }
 
+    /**
+     * Releases the dimension type of a removed dimension, unregistering it if no other dimension uses it.
+     *
+     * @return whether the type was unregistered
+     */
     @Unique
-    private void deleteLevelData(ResourceKey<Level> key) {
-        Path worldDir = this.storageSource.getDimensionPath(key);
-        if (worldDir.toFile().exists()) {
-            try {
-                FileUtils.deleteDirectory(worldDir.toFile());
-            } catch (IOException e) {
-                throw new RuntimeException("Failed to delete deleted world directory!", e);
-            }
+    private boolean releaseDimensionType(@NotNull ResourceLocation id, @NotNull ResourceLocation typeId) {
+        if (!typeId.equals(id) && !(this.sharedTypes.isShared(typeId) && this.sharedTypes.release(typeId))) {
+            return false; // still in use, or not owned by a dynamic dimension
+        }
+        RegistryUtil.unregister(this.registries().compositeAccess().registryOrThrow(Registries.DIMENSION_TYPE), typeId);
+        return true;
+    }
+
+    /**
+     * Starts writing the chunks of a removed level to disk.
+     * Chunks are handed to the level's I/O worker without waiting for them to be written,
+     * and the level is closed on a later tick once the worker has caught up.
+     */
+    @Unique
+    private void beginClosingLevel(ServerLevel level, boolean removeFiles, CompletableFuture<Boolean> result) {
+        level.save(null, false, false);
+        CompletableFuture<Void> flushed = level.getChunkSource().chunkMap.synchronize(true);
+        this.closingLevels.put(level.dimension(), new DimensionClosingTicket(level, removeFiles, flushed, result));
+    }
+
+    /**
+     * Closes a level that is still being written to disk, blocking until it is closed.
+     * Must be called before the data of the level is accessed again.
+     */
+    @Unique
+    private void finishClosingLevel(ResourceKey<Level> key) {
+        if (this.closingLevels.isEmpty()) return;
+        DimensionClosingTicket ticket = this.closingLevels.remove(key);
+        if (ticket != null) {
+            this.closeLevel(ticket);
+        }
+    }
+
+    @Unique
+    private void closeLevel(DimensionClosingTicket ticket) {
+        ResourceKey<Level> key = ticket.level().dimension();
+        try {
+            ticket.level().close(); // saves anything that changed or was skipped since the level was removed
+        } catch (IOException e) {
+            Constants.LOGGER.error("Failed to close level upon removal! Memory may have been leaked.", e);
+        }
+        if (ticket.removeFiles()) {
+            this.deleteLevelData(key);
         }
+        ticket.result().complete(true);
+    }
+
+    @Unique
+    private void deleteLevelData(ResourceKey<Level> key) {
+        this.dataDeleter.delete(this.storageSource.getDimensionPath(key), Constants.CONFIG.deletionFilesPerSecond());
     }
 
     @Unique
@@ -201,9 +672,66 @@ public abstract class MinecraftServerMixin implements DynamicDimensionRegistry {
         DimensionAddedCallback.invoke(level.dimension(), level);
         this.levels.put(level.dimension(), level);
         this.dynamicDimensions.add(level.dimension());
+        if (!this.dormantActivity.isTracked(level.dimension())) { // dormant dimensions have their own idle timer
+            this.idleActivity.track(level.dimension(), this.getTickCount());
+        }
         level.tick(() -> true);
     }
 
+    @Unique
+    private void makeDormant(ResourceKey<Level> key) {
+        Constants.LOGGER.debug("Dynamic dimension '{}' is idle, unloading it", key.location());
+        this.cancelPregeneration(key);
+        ServerLevel level = this.levels.remove(key);
+        DimensionRemovedCallback.invoke(key, level);
+        this.overworld().getWorldBorder().removeListener(this.borderListeners.remove(key));
+        this.beginClosingLevel(level, false, new CompletableFuture<>());
+        this.dormantDimensions.add(key);
+        this.recordDimensionState(key);
+    }
+
+    @Unique
+    private void cancelPregeneration(ResourceKey<Level> key) {
+        DimensionPregenerator pregenerator = this.pregenerators.remove(key);
+        if (pregenerator != null) {
+            pregenerator.cancel();
+        }
+    }
+
+    @Override
+    public boolean dynamicDimensions$isAdmissionBlocked(@NotNull ResourceKey<Level> key) {
+        return !Constants.CONFIG.admitPlayersWhilePregenerating() && this.pregenerators.containsKey(key);
+    }
+
+    @Unique
+    private @NotNull ServerLevel wakeDormantLevel(ResourceKey<Level> key) {
+        Constants.LOGGER.debug("Loading dormant dynamic dimension '{}'", key.location());
+        final LevelStem stem = this.registries().compositeAccess().registryOrThrow(Registries.LEVEL_STEM).getOrThrow(ResourceKey.create(Registries.LEVEL_STEM, key.location()));
+        this.finishClosingLevel(key);
+        final ServerLevel level = this.constructLevel(key, stem);
+        this.dormantActivity.track(key, this.getTickCount());
+        this.recordDimensionState(key);
+        if (this.tickingLevels) {
+            this.pendingLevels.put(key, level); //prevent co-modification
+        } else {
+            this.registerLevel(level);
+        }
+        return level;
+    }
+
+    @Inject(method = "getLevel", at = @At("HEAD"), cancellable = true)
+    private void loadDormantLevel(ResourceKey<Level> key, CallbackInfoReturnable<ServerLevel> cir) {
+        if (!this.dormantDimensions.isEmpty() && this.dormantDimensions.remove(key)) {
+            cir.setReturnValue(this.wakeDormantLevel(key));
+        } else if (!this.pendingLevels.isEmpty() && this.dormantActivity.isTracked(key)) {
+            // woken up this tick, but not registered yet
+            ServerLevel level = this.pendingLevels.get(key);
+            if (level != null) {
+                cir.setReturnValue(level);
+            }
+        }
+    }
+
     @Inject(method = "tickChildren", at = @At(value = "INVOKE", target = "Lnet/minecraft/server/ServerFunctionManager;tick()V", shift = At.Shift.AFTER))
     private void markTickingLevels(BooleanSupplier booleanSupplier, CallbackInfo ci) {
         this.tickingLevels = true;
@@ -214,17 +742,173 @@ public abstract class MinecraftServerMixin implements DynamicDimensionRegistry {
         this.tickingLevels = false;
     }
 
-    @Inject(method = "createLevels", at = @At(value = "INVOKE", target = "Lnet/minecraft/core/Registry;entrySet()Ljava/util/Set;", shift = At.Shift.BEFORE))
-    private void loadDynamicDimensions(CallbackInfo ci) {
+    @Inject(method = "stopServer", at = @At("HEAD"))
+    private void cancelPendingCreations(CallbackInfo ci) {
+        for (DimensionCreationTicket ticket : this.pendingCreations) {
+            ticket.preparation().cancel(false);
+            ticket.result().complete(null);
+        }
+        this.pendingCreations.clear();
+        this.pendingCreationKeys.clear();
+
+        for (DimensionPregenerator pregenerator : this.pregenerators.values()) {
+            pregenerator.cancel();
+        }
+        this.pregenerators.clear();
+
+        for (DimensionClosingTicket ticket : this.closingLevels.values()) {
+            this.closeLevel(ticket);
+        }
+        this.closingLevels.clear();
+    }
+
+    @Inject(method = "stopServer", at = @At("TAIL"))
+    private void stopDeletingLevelData(CallbackInfo ci) {
+        this.dataDeleter.close();
+        if (this.manifestFile != null) {
+            this.manifestFile.close();
+        }
+    }
+
+    @Redirect(method = "createLevels", at = @At(value = "INVOKE", target = "Lnet/minecraft/core/Registry;entrySet()Ljava/util/Set;"))
+    private Set<Map.Entry<ResourceKey<LevelStem>, LevelStem>> loadDynamicDimensions(Registry<LevelStem> registry) {
+        this.loadDynamicDimensions();
+        if (this.dormantDimensions.isEmpty()) return registry.entrySet();
+
+        // dormant dimensions are registered, but their levels are only constructed when first accessed
+        final Set<Map.Entry<ResourceKey<LevelStem>, LevelStem>> entries = new LinkedHashSet<>(registry.entrySet());
+        entries.removeIf(entry -> this.dormantDimensions.contains(ResourceKey.create(Registries.DIMENSION, entry.getKey().location())));
+        for (ResourceKey<Level> key : this.dormantDimensions) {
+            this.dormantActivity.track(key, this.getTickCount());
+        }
+        return entries;
+    }
+
+    @Unique
+    private void loadDynamicDimensions() {
         final Registry<DimensionType> typeRegistry = this.registryAccess().registryOrThrow(Registries.DIMENSION_TYPE);
         final Registry<LevelStem> stemRegistry = this.registries().compositeAccess().registryOrThrow(Registries.LEVEL_STEM);
+        final boolean deferred = Constants.CONFIG.deferLoadedDimensions();
 
-        DynamicDimensionLoadCallback.invoke((MinecraftServer) (Object) this, (id, chunkGenerator, type) -> {
+        // registries are only modified once every callback has returned, as dimensions may still be decoding
+        final BatchedDimensionLoader loader = new BatchedDimensionLoader((id, chunkGenerator, type) -> {
             Constants.LOGGER.debug("Loading dynamic dimension '{}'", id);
             Holder.Reference<DimensionType> ref = RegistryUtil.registerUnfreeze(typeRegistry, id, type);
             RegistryUtil.registerUnfreeze(stemRegistry, id, new LevelStem(ref, chunkGenerator));
-            this.dynamicDimensions.add(ResourceKey.create(Registries.DIMENSION, id));
+            final ResourceKey<Level> key = ResourceKey.create(Registries.DIMENSION, id);
+            this.dynamicDimensions.add(key);
+            if (deferred) this.dormantDimensions.add(key);
         });
+        DynamicDimensionLoadCallback.invoke((MinecraftServer) (Object) this, loader);
+
+        // freezing binds and validates every entry, so only do it once for all loaded dimensions
+        try (RegistryUtil.Unfrozen ignored = RegistryUtil.unfreeze(typeRegistry, stemRegistry)) {
+            loader.commit();
+            if (this.manifestFile != null) {
+                this.loadManifestDimensions(typeRegistry, stemRegistry, deferred);
+            }
+        }
+    }
+
+    /**
+     * Registers the dimensions saved in the manifest, unless a mod already loaded them.
+     */
+    @Unique
+    private void loadManifestDimensions(Registry<DimensionType> typeRegistry, Registry<LevelStem> stemRegistry, boolean deferred) {
+        assert this.manifestFile != null;
+        final Map<ResourceLocation, DimensionManifestFile.Entry> entries;
+        try {
+            entries = this.manifestFile.read();
+        } catch (IOException e) {
+            Constants.LOGGER.error("Failed to read dynamic dimension manifest!", e);
+            return;
+        }
+
+        // decode the generators in parallel; registration below stays on this thread and in manifest order
+        final RegistryOps<Tag> ops = RegistryOps.create(NbtOps.INSTANCE, this.registryAccess());
+        final List<DimensionManifestFile.Entry> loading = new ArrayList<>(entries.size());
+        final List<CompletableFuture<@Nullable ChunkGenerator>> generators = new ArrayList<>(entries.size());
+        for (DimensionManifestFile.Entry entry : entries.values()) {
+            if (stemRegistry.containsKey(entry.id())) continue;
+            loading.add(entry);
+            generators.add(CompletableFuture.supplyAsync(() -> ChunkGenerator.CODEC.parse(ops, entry.generator())
+                    .resultOrPartial(error -> Constants.LOGGER.error("Failed to decode chunk generator of dynamic dimension '{}': {}", entry.id(), error))
+                    .orElse(null), Util.backgroundExecutor()));
+        }
+
+        for (int i = 0; i < loading.size(); i++) {
+            final DimensionManifestFile.Entry entry = loading.get(i);
+            final ResourceLocation id = entry.id();
+            final ChunkGenerator generator = generators.get(i).join();
+            if (generator == null) continue;
+
+            final Holder<DimensionType> type;
+            if (entry.typeKind() == DimensionManifestFile.TYPE_OWN) {
+                type = RegistryUtil.registerUnfreeze(typeRegistry, id, entry.type());
+            } else if (entry.typeKind() == DimensionManifestFile.TYPE_SHARED) {
+                final CompoundTag serializedType = encodeDimensionType(entry.type());
+                if (serializedType == null) continue;
+                ResourceLocation typeId = this.sharedTypes.get(serializedType);
+                if (typeId == null) {
+                    typeId = this.sharedTypes.add(typeRegistry, serializedType);
+                    RegistryUtil.registerUnfreeze(typeRegistry, typeId, entry.type());
+                }
+                this.sharedTypes.acquire(typeId);
+                type = typeRegistry.getHolderOrThrow(ResourceKey.create(Registries.DIMENSION_TYPE, typeId));
+            } else {
+                type = typeRegistry.getHolder(ResourceKey.create(Registries.DIMENSION_TYPE, entry.typeId())).orElse(null);
+                if (type == null) {
+                    Constants.LOGGER.error("Dimension type '{}' of dynamic dimension '{}' is not registered", entry.typeId(), id);
+                    continue;
+                }
+            }
+
+            Constants.LOGGER.debug("Loading dynamic dimension '{}' from the manifest", id);
+            RegistryUtil.registerUnfreeze(stemRegistry, id, new LevelStem(type, generator));
+            final ResourceKey<Level> key = ResourceKey.create(Registries.DIMENSION, id);
+            this.dynamicDimensions.add(key);
+            if (entry.hasState(DimensionManifestFile.STATE_PINNED)) {
+                this.pinnedDimensions.add(key);
+            } else if (deferred || entry.hasState(DimensionManifestFile.STATE_DORMANT)) {
+                this.dormantDimensions.add(key);
+            }
+        }
+    }
+
+    /**
+     * Saves a newly registered dimension to the manifest.
+     */
+    @Unique
+    private void recordDimension(ResourceKey<Level> key) {
+        if (this.manifestFile == null) return;
+        final LevelStem stem = this.registries().compositeAccess().registryOrThrow(Registries.LEVEL_STEM).get(key.location());
+        if (stem == null) return;
+
+        final DataResult<Tag> generator = ChunkGenerator.CODEC.encodeStart(RegistryOps.create(NbtOps.INSTANCE, this.registryAccess()), stem.generator());
+        if (generator.error().isPresent() || !(generator.result().orElse(null) instanceof CompoundTag tag)) {
+            Constants.LOGGER.error("Failed to save chunk generator of dynamic dimension '{}': {}", key.location(), generator.error().map(DataResult.PartialResult::message).orElse("not a compound"));
+            return;
+        }
+
+        final ResourceLocation typeId = stem.type().unwrapKey().orElseThrow().location();
+        final byte typeKind = typeId.equals(key.location()) ? DimensionManifestFile.TYPE_OWN
+                : this.sharedTypes.isShared(typeId) ? DimensionManifestFile.TYPE_SHARED : DimensionManifestFile.TYPE_REFERENCE;
+        this.manifestFile.put(key.location(), tag, typeKind, stem.type().value(), typeId, this.getDimensionState(key));
+    }
+
+    @Unique
+    private void recordDimensionState(ResourceKey<Level> key) {
+        if (this.manifestFile != null) {
+            this.manifestFile.setState(key.location(), this.getDimensionState(key));
+        }
+    }
+
+    @Unique
+    private byte getDimensionState(ResourceKey<Level> key) {
+        byte state = 0;
+        if (this.dormantDimensions.contains(key)) state |= DimensionManifestFile.STATE_DORMANT;
+        if (this.pinnedDimensions.contains(key)) state |= DimensionManifestFile.STATE_PINNED;
+        return state;
     }
 
     @Override
@@ -235,19 +919,11 @@ public abstract class MinecraftServerMixin implements DynamicDimensionRegistry {
         final Registry<LevelStem> stemRegistry = this.registries().compositeAccess().registryOrThrow(Registries.LEVEL_STEM);
         Constants.LOGGER.debug("Attempting to create dynamic dimension '{}'", id);
 
-        if (typeRegistry.stream().anyMatch(t -> t == type)) {
-            return null;
-        }
-
-        final DataResult<Tag> encodedType = DimensionType.DIRECT_CODEC.encode(type, NbtOps.INSTANCE, new CompoundTag());
-        if (encodedType.error().isPresent()) {
-            Constants.LOGGER.error("Failed to encode dimension type! {}", encodedType.error().get().message());
+        if (RegistryUtil.containsValue(typeRegistry, type)) {
             return null;
         }
 
-        final CompoundTag serializedType = (CompoundTag) encodedType.get().orThrow();
-
-        return this.createDynamicLevel(id, generator, type, typeRegistry, stemRegistry, serializedType, key, true);
+        return this.createDynamicLevel(id, generator, type, typeRegistry, stemRegistry, key, true);
     }
 
     @Override
@@ -258,19 +934,172 @@ public abstract class MinecraftServerMixin implements DynamicDimensionRegistry {
         final Registry<LevelStem> stemRegistry = this.registries().compositeAccess().registryOrThrow(Registries.LEVEL_STEM);
         Constants.LOGGER.debug("Attempting to create dynamic dimension '{}'", id);
 
-        if (typeRegistry.stream().anyMatch(t -> t == type)) {
+        if (RegistryUtil.containsValue(typeRegistry, type)) {
             return null;
         }
 
-        final DataResult<Tag> encodedType = DimensionType.DIRECT_CODEC.encode(type, NbtOps.INSTANCE, new CompoundTag());
-        if (encodedType.error().isPresent()) {
-            Constants.LOGGER.error("Failed to encode dimension type! {}", encodedType.error().get().message());
-            return null;
+        return this.createDynamicLevel(id, generator, type, typeRegistry, stemRegistry, key, false);
+    }
+
+    @Override
+    public @Nullable ServerLevel createDynamicDimension(@NotNull ResourceLocation id, @NotNull ChunkGenerator generator, @NotNull Holder<DimensionType> type) {
+        return this.createDynamicLevelWithType(id, generator, type, true);
+    }
+
+    @Override
+    public @Nullable ServerLevel loadDynamicDimension(@NotNull ResourceLocation id, @NotNull ChunkGenerator generator, @NotNull Holder<DimensionType> type) {
+        return this.createDynamicLevelWithType(id, generator, type, false);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@Nullable ServerLevel> createDynamicDimensionAsync(@NotNull ResourceLocation id, @NotNull ChunkGenerator generator, @NotNull DimensionType type) {
+        return this.queueDynamicLevel(id, generator, type, true, null);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@Nullable ServerLevel> loadDynamicDimensionAsync(@NotNull ResourceLocation id, @NotNull ChunkGenerator generator, @NotNull DimensionType type) {
+        return this.queueDynamicLevel(id, generator, type, false, null);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@Nullable ServerLevel> createDynamicDimensionFromTemplate(@NotNull ResourceLocation id, @NotNull Path template, @NotNull ChunkGenerator generator, @NotNull DimensionType type) {
+        if (!Files.isDirectory(template)) {
+            Constants.LOGGER.error("Template '{}' for dynamic dimension '{}' is not a directory", template, id);
+            return CompletableFuture.completedFuture(null);
+        }
+        return this.queueDynamicLevel(id, generator, type, true, template);
+    }
+
+    @Override
+    public @NotNull List<@Nullable ServerLevel> createDynamicDimensions(@NotNull Collection<DimensionSpec> specs) {
+        List<ServerLevel> levels = new ArrayList<>(specs.size());
+        try (Batch ignored = this.batch()) {
+            for (DimensionSpec spec : specs) {
+                if (spec.loadExisting()) {
+                    levels.add(this.loadDynamicDimension(spec.id(), spec.chunkGenerator(), spec.type()));
+                } else {
+                    levels.add(this.createDynamicDimension(spec.id(), spec.chunkGenerator(), spec.type()));
+                }
+            }
+        }
+        return levels;
+    }
+
+    @Override
+    public @NotNull Batch batch() {
+        this.batchDepth++;
+        return () -> {
+            if (--this.batchDepth == 0) {
+                this.flushDimensionUpdates();
+            }
+        };
+    }
+
+    @Override
+    public boolean registerDormantDynamicDimension(@NotNull ResourceLocation id, @NotNull ChunkGenerator generator, @NotNull DimensionType type) {
+        ResourceKey<Level> key = ResourceKey.create(Registries.DIMENSION, id);
+        if (!this.canCreateDimension(id)) return false;
+        final Registry<DimensionType> typeRegistry = this.registryAccess().registryOrThrow(Registries.DIMENSION_TYPE);
+        final Registry<LevelStem> stemRegistry = this.registries().compositeAccess().registryOrThrow(Registries.LEVEL_STEM);
+        Constants.LOGGER.debug("Attempting to register dormant dynamic dimension '{}'", id);
+
+        if (RegistryUtil.containsValue(typeRegistry, type)) {
+            return false;
+        }
+
+        this.registerDimension(id, generator, type, typeRegistry, stemRegistry);
+        this.dynamicDimensions.add(key);
+        this.dormantDimensions.add(key);
+        this.dormantActivity.track(key, this.getTickCount());
+        this.recordDimension(key);
+        this.announceDimension(id, id, typeRegistry.getId(type), type);
+        return true;
+    }
+
+    @Override
+    public boolean isDimensionDormant(@NotNull ResourceLocation id) {
+        return this.dormantDimensions.contains(ResourceKey.create(Registries.DIMENSION, id));
+    }
+
+    @Override
+    public boolean setDimensionPinned(@NotNull ResourceLocation id, boolean pinned) {
+        ResourceKey<Level> key = ResourceKey.create(Registries.DIMENSION, id);
+        if (!this.dynamicDimensions.contains(key)) return false;
+
+        if (pinned) {
+            if (this.pinnedDimensions.add(key)) this.recordDimensionState(key);
+        } else if (this.pinnedDimensions.remove(key)) {
+            // give the dimension a full idle period before it can be unloaded
+            if (this.dormantActivity.isTracked(key)) this.dormantActivity.track(key, this.getTickCount());
+            if (this.idleActivity.isTracked(key)) this.idleActivity.track(key, this.getTickCount());
+            this.recordDimensionState(key);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isDimensionPinned(@NotNull ResourceLocation id) {
+        return this.pinnedDimensions.contains(ResourceKey.create(Registries.DIMENSION, id));
+    }
+
+    @Override
+    public void setDimensionVisibility(@NotNull ResourceLocation id, @Nullable DimensionVisibility visibility) {
+        ResourceKey<Level> key = ResourceKey.create(Registries.DIMENSION, id);
+        boolean exists = this.dynamicDimensions.contains(key);
+        if (visibility == null || visibility == DimensionVisibility.ALL) {
+            this.visibilities.remove(key);
+            Set<UUID> revealed = this.revealedTo.remove(key);
+            if (exists && revealed != null) {
+                for (ServerPlayer player : this.getPlayerList().getPlayers()) {
+                    if (!revealed.contains(player.getUUID())) this.sendManifest(player, List.of(key));
+                }
+            }
+        } else {
+            if (exists && this.visibilities.put(key, visibility) == null) {
+                // everyone online was already told about the dimension
+                Set<UUID> revealed = new HashSet<>();
+                for (ServerPlayer player : this.getPlayerList().getPlayers()) revealed.add(player.getUUID());
+                this.revealedTo.put(key, revealed);
+            } else {
+                this.visibilities.put(key, visibility);
+            }
         }
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Boolean> pregenerateDynamicDimension(@NotNull ResourceLocation id, int radius) {
+        if (radius < 0) throw new IllegalArgumentException("Pre-generation radius must not be negative!");
+        ResourceKey<Level> key = ResourceKey.create(Registries.DIMENSION, id);
+        DimensionPregenerator existing = this.pregenerators.get(key);
+        if (existing != null) return existing.result();
+        if (!this.dynamicDimensions.contains(key)) return CompletableFuture.completedFuture(false);
+
+        ServerLevel level = this.getLevel(key); // wakes dormant dimensions
+        if (level == null) return CompletableFuture.completedFuture(false);
+        DimensionPregenerator pregenerator = new DimensionPregenerator(level, radius);
+        this.pregenerators.put(key, pregenerator);
+        return pregenerator.result();
+    }
+
+    @Override
+    public boolean isDimensionPregenerating(@NotNull ResourceLocation id) {
+        return this.pregenerators.containsKey(ResourceKey.create(Registries.DIMENSION, id));
+    }
 
-        final CompoundTag serializedType = (CompoundTag) encodedType.get().orThrow();
+    @Override
+    public @NotNull DimensionPool createDimensionPool(@NotNull ResourceLocation id, @NotNull ChunkGenerator generator, @NotNull Holder<DimensionType> type, int size) {
+        if (size <= 0) throw new IllegalArgumentException("Dimension pool size must be positive!");
+        if (this.getDimensionPool(id) != null) throw new IllegalArgumentException("Dimension pool '" + id + "' already exists!");
+
+        DynamicDimensionPool pool = new DynamicDimensionPool(this, id, generator, type, size);
+        this.pools.put(id, pool);
+        return pool;
+    }
 
-        return this.createDynamicLevel(id, generator, type, typeRegistry, stemRegistry, serializedType, key, false);
+    @Override
+    public @Nullable DimensionPool getDimensionPool(@NotNull ResourceLocation id) {
+        DynamicDimensionPool pool = this.pools.get(id);
+        return pool != null && !pool.isClosed() ? pool : null;
     }
 
     @Override
@@ -295,57 +1124,135 @@ public abstract class MinecraftServerMixin implements DynamicDimensionRegistry {
 
     @Override
     public boolean deleteDynamicDimension(@NotNull ResourceLocation id, @Nullable PlayerRemover remover) {
+        return this.removeDynamicDimension(id, remover, true) != null;
+    }
+
+    @Override
+    public boolean unloadDynamicDimension(@NotNull ResourceLocation id, @Nullable PlayerRemover remover) {
+        return this.removeDynamicDimension(id, remover, false) != null;
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Boolean> unloadDynamicDimensionAsync(@NotNull ResourceLocation id, @Nullable PlayerRemover remover) {
+        CompletableFuture<Boolean> result = this.removeDynamicDimension(id, remover, false);
+        return result != null ? result : CompletableFuture.completedFuture(false);
+    }
+
+    @Unique
+    private @Nullable CompletableFuture<Boolean> removeDynamicDimension(@NotNull ResourceLocation id, @Nullable PlayerRemover remover, boolean removeFiles) {
         if (remover == null) {
             remover = PlayerRemover.DEFAULT;
         }
 
         ResourceKey<Level> key = ResourceKey.create(Registries.DIMENSION, id);
-        if (!this.canDeleteDimension(id)) return false;
+        if (!this.canDeleteDimension(id)) return null;
 
-        if (this.tickingLevels) {
-            this.pendingDeletions.add(new DimensionRemovalTicket(key, remover, true));
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        if (this.tickingLevels || !this.pendingLevels.isEmpty()) { // the level may not have been added yet
+            this.pendingDeletions.add(new DimensionRemovalTicket(key, remover, removeFiles, result));
         } else {
-            this.unloadLevel(key, remover);
-            this.deleteLevelData(key);
+            this.unloadLevel(key, remover, removeFiles, result);
         }
 
-        return true;
+        return result;
     }
 
-    @Override
-    public boolean unloadDynamicDimension(@NotNull ResourceLocation id, @Nullable PlayerRemover remover) {
-        if (remover == null) {
-            remover = PlayerRemover.DEFAULT;
-        }
+    @Unique
+    private ServerLevel createDynamicLevel(@NotNull ResourceLocation id, @NotNull ChunkGenerator generator, @NotNull DimensionType type, Registry<DimensionType> typeRegistry, Registry<LevelStem> stemRegistry, ResourceKey<Level> key, boolean deleteOldData) {
+        final LevelStem stem = this.registerDimension(id, generator, type, typeRegistry, stemRegistry);
+        final ServerLevel level = this.addDynamicLevel(key, stem, deleteOldData);
+        this.recordDimension(key);
+        this.announceDimension(id, id, typeRegistry.getId(type), type);
+        return level;
+    }
 
+    /**
+     * Creates a dimension using an existing or shared dimension type.
+     * Direct holders are deduplicated by their encoded contents, so structurally equal types share one registry entry.
+     */
+    @Unique
+    private @Nullable ServerLevel createDynamicLevelWithType(@NotNull ResourceLocation id, @NotNull ChunkGenerator generator, @NotNull Holder<DimensionType> type, boolean deleteOldData) {
         ResourceKey<Level> key = ResourceKey.create(Registries.DIMENSION, id);
-        if (!this.canDeleteDimension(id)) return false;
+        if (!this.canCreateDimension(id)) return null;
+        final Registry<DimensionType> typeRegistry = this.registryAccess().registryOrThrow(Registries.DIMENSION_TYPE);
+        final Registry<LevelStem> stemRegistry = this.registries().compositeAccess().registryOrThrow(Registries.LEVEL_STEM);
+        Constants.LOGGER.debug("Attempting to create dynamic dimension '{}' with a shared type", id);
 
-        if (this.tickingLevels) {
-            this.pendingDeletions.add(new DimensionRemovalTicket(key, remover, false));
-        } else {
-            this.unloadLevel(key, remover);
+        ResourceLocation typeId = type.unwrapKey().map(ResourceKey::location).orElse(null);
+        if (typeId == null && RegistryUtil.containsValue(typeRegistry, type.value())) {
+            typeId = typeRegistry.getKey(type.value()); // direct holder of a registered type
         }
 
-        return true;
+        if (typeId != null && this.dynamicDimensions.contains(ResourceKey.create(Registries.DIMENSION, typeId))) {
+            // the type belongs to another dynamic dimension and is removed along with it
+            Constants.LOGGER.error("Dimension type '{}' cannot be shared with dynamic dimension '{}'", typeId, id);
+            return null;
+        }
+
+        boolean newType = false;
+        if (typeId == null) {
+            final CompoundTag serializedType = encodeDimensionType(type.value());
+            if (serializedType == null) return null;
+            typeId = this.sharedTypes.get(serializedType);
+            if (typeId == null) {
+                typeId = this.sharedTypes.add(typeRegistry, serializedType);
+                RegistryUtil.registerUnfreeze(typeRegistry, typeId, type.value());
+                newType = true;
+            }
+        }
+
+        final Holder.Reference<DimensionType> typeHolder = typeRegistry.getHolder(ResourceKey.create(Registries.DIMENSION_TYPE, typeId)).orElse(null);
+        if (typeHolder == null) {
+            Constants.LOGGER.error("Dimension type '{}' of dynamic dimension '{}' is not registered", typeId, id);
+            return null;
+        }
+        if (this.sharedTypes.isShared(typeId)) {
+            this.sharedTypes.acquire(typeId);
+        }
+
+        final LevelStem stem = new LevelStem(typeHolder, generator);
+        RegistryUtil.registerUnfreeze(stemRegistry, id, stem);
+        final ServerLevel level = this.addDynamicLevel(key, stem, deleteOldData);
+        this.recordDimension(key);
+        // players may not know a shared type if it was only used by dimensions they cannot see
+        final boolean sendType = newType || (this.sharedTypes.isShared(typeId) && !this.visibilities.isEmpty());
+        this.announceDimension(id, typeId, typeRegistry.getId(typeHolder.value()), sendType ? typeHolder.value() : null);
+        return level;
     }
 
     @Unique
-    private ServerLevel createDynamicLevel(@NotNull ResourceLocation id, @NotNull ChunkGenerator generator, @NotNull DimensionType type, Registry<DimensionType> typeRegistry, Registry<LevelStem> stemRegistry, CompoundTag serializedType, ResourceKey<Level> key, boolean deleteOldData) {
-        final WorldData worldData = this.getWorldData();
-        final ServerLevel overworld = this.overworld();
-        assert overworld != null;
+    private @NotNull ServerLevel addDynamicLevel(ResourceKey<Level> key, LevelStem stem, boolean deleteOldData) {
+        this.finishClosingLevel(key);
+        if (deleteOldData) {
+            this.deleteLevelData(key);
+        }
+        final ServerLevel level = this.constructLevel(key, stem);
+
+        if (this.tickingLevels) {
+            this.pendingLevels.put(key, level); //prevent co-modification
+        } else {
+            this.registerLevel(level);
+        }
+        return level;
+    }
 
+    @Unique
+    private @NotNull LevelStem registerDimension(@NotNull ResourceLocation id, @NotNull ChunkGenerator generator, @NotNull DimensionType type, Registry<DimensionType> typeRegistry, Registry<LevelStem> stemRegistry) {
         final Holder.Reference<DimensionType> typeHolder = RegistryUtil.registerUnfreeze(typeRegistry, id, type);
         assert typeHolder.isBound() : "Registered dimension type not bound?!";
 
         final LevelStem stem = new LevelStem(typeHolder, generator);
         RegistryUtil.registerUnfreeze(stemRegistry, id, stem);
+        return stem;
+    }
+
+    @Unique
+    private @NotNull ServerLevel constructLevel(ResourceKey<Level> key, LevelStem stem) {
+        final WorldData worldData = this.getWorldData();
+        final ServerLevel overworld = this.overworld();
+        assert overworld != null;
 
         final DerivedLevelData data = new DerivedLevelData(worldData, worldData.overworldData()); //todo: do we want separate data?
-        if (deleteOldData) {
-            this.deleteLevelData(key);
-        }
         final ServerLevel level = new ServerLevel(
                 (MinecraftServer) (Object) this,
                 this.executor,
@@ -360,37 +1267,144 @@ public abstract class MinecraftServerMixin implements DynamicDimensionRegistry {
                 false,
                 null
         );
-        overworld.getWorldBorder().addListener(new BorderChangeListener.DelegateBorderChangeListener(level.getWorldBorder()));
+        final BorderChangeListener borderListener = new BorderChangeListener.DelegateBorderChangeListener(level.getWorldBorder());
+        overworld.getWorldBorder().addListener(borderListener);
+        this.borderListeners.put(key, borderListener);
         level.getChunkSource().setSimulationDistance(((DistanceManagerAccessor) ((ServerChunkCacheAccessor) overworld.getChunkSource()).getDistanceManager()).getSimulationDistance());
         level.getChunkSource().setViewDistance(((ChunkMapAccessor) overworld.getChunkSource().chunkMap).getViewDistance());
+        return level;
+    }
 
-        if (this.tickingLevels) {
-            this.pendingLevels.add(level); //prevent co-modification
-        } else {
-            this.registerLevel(level);
-        }
-
+    @Unique
+    private void announceDimension(@NotNull ResourceLocation id, @NotNull ResourceLocation typeId, int rawTypeId, @Nullable DimensionType newType) {
         FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
         buf.writeResourceLocation(id);
-        buf.writeInt(typeRegistry.getId(type));
-        buf.writeNbt(serializedType);
-        for (ServerPlayer player : this.getPlayerList().getPlayers()) {
-            PacketSender.s2c(player).send(Constants.CREATE_DIMENSION_PACKET, new FriendlyByteBuf(buf.copy()));
+        buf.writeResourceLocation(typeId);
+        buf.writeBoolean(newType != null); // clients already know about existing types
+        if (newType != null) {
+            buf.writeVarInt(rawTypeId);
+            DimensionTypeCodec.write(buf, newType);
+            this.pendingDimensionTypes.put(ResourceKey.create(Registries.DIMENSION, id), typeId);
+        }
+        this.pendingDimensionPackets.add(Pair.of(ResourceKey.create(Registries.DIMENSION, id), buf));
+        if (this.batchDepth == 0) {
+            this.flushDimensionUpdates();
         }
-        this.reloadDimensionTags();
-        return level;
     }
 
     @Unique
-    private boolean isIdPendingCreation(ResourceLocation id) {
-        for (ServerLevel pendingLevel : this.pendingLevels) {
-            if (pendingLevel.dimension().location().equals(id)) return true;
+    private boolean isDimensionAnnouncementPending(@NotNull ResourceKey<Level> key) {
+        for (Pair<ResourceKey<Level>, FriendlyByteBuf> packet : this.pendingDimensionPackets) {
+            if (packet.getFirst().equals(key)) return true;
         }
         return false;
     }
 
     @Unique
-    private void reloadDimensionTags() {
+    private void flushDimensionUpdates() {
+        if (this.pendingDimensionPackets.isEmpty()) return;
+
+        final Set<ResourceLocation> addedTypes = new LinkedHashSet<>();
+        final Set<ServerPlayer> typeRecipients = new LinkedHashSet<>();
+        for (Pair<ResourceKey<Level>, FriendlyByteBuf> packet : this.pendingDimensionPackets) {
+            List<ServerPlayer> players = this.revealDimension(packet.getFirst());
+            ResourceLocation typeId = this.pendingDimensionTypes.get(packet.getFirst());
+            if (typeId != null) {
+                addedTypes.add(typeId);
+                typeRecipients.addAll(players);
+            }
+            DimensionPacketBroadcaster.broadcast(players, Constants.CREATE_DIMENSION_PACKET, packet.getSecond());
+        }
+        this.pendingDimensionPackets.clear();
+        this.pendingDimensionTypes.clear();
+        this.reloadDimensionTags(addedTypes, typeRecipients);
+    }
+
+    @Unique
+    private @NotNull CompletableFuture<@Nullable ServerLevel> queueDynamicLevel(@NotNull ResourceLocation id, @NotNull ChunkGenerator generator, @NotNull DimensionType type, boolean deleteOldData, @Nullable Path template) {
+        if (!this.canCreateDimension(id)) return CompletableFuture.completedFuture(null);
+        final Registry<DimensionType> typeRegistry = this.registryAccess().registryOrThrow(Registries.DIMENSION_TYPE);
+        Constants.LOGGER.debug("Queueing creation of dynamic dimension '{}'", id);
+
+        if (RegistryUtil.containsValue(typeRegistry, type)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final ResourceKey<Level> key = ResourceKey.create(Registries.DIMENSION, id);
+        final Path worldDir = this.storageSource.getDimensionPath(key);
+        final DimensionClosingTicket closing = this.closingLevels.get(key);
+        final CompletableFuture<?> previous = closing != null ? closing.result() : CompletableFuture.completedFuture(null); // wait for the old level to be written
+        final CompletableFuture<Void> preparation = previous.thenRunAsync(() -> {
+            if (deleteOldData) {
+                this.deleteLevelData(key);
+            }
+            try {
+                Files.createDirectories(worldDir);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to create world directory!", e);
+            }
+            if (template != null) {
+                try {
+                    DimensionTemplates.copy(template, worldDir);
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to copy dimension template!", e);
+                }
+            }
+        }, Util.backgroundExecutor());
+
+        final DimensionCreationTicket ticket = new DimensionCreationTicket(key, generator, type, deleteOldData, preparation, new CompletableFuture<>());
+        this.pendingCreations.add(ticket);
+        this.pendingCreationKeys.add(key);
+        return ticket.result();
+    }
+
+    @Unique
+    private void commitDynamicLevel(@NotNull DimensionCreationTicket ticket) {
+        final ResourceLocation id = ticket.key().location();
+        try {
+            ticket.preparation().join();
+        } catch (CompletionException e) {
+            Constants.LOGGER.error("Failed to prepare dynamic dimension '{}'", id, e.getCause());
+            ticket.result().complete(null);
+            return;
+        }
+
+        final Registry<DimensionType> typeRegistry = this.registryAccess().registryOrThrow(Registries.DIMENSION_TYPE);
+        final Registry<LevelStem> stemRegistry = this.registries().compositeAccess().registryOrThrow(Registries.LEVEL_STEM);
+        if (this.anyDimensionExists(id) || RegistryUtil.containsValue(typeRegistry, ticket.type())) {
+            ticket.result().complete(null);
+            return;
+        }
+
+        try {
+            // data was already removed during preparation
+            ticket.result().complete(this.createDynamicLevel(id, ticket.generator(), ticket.type(), typeRegistry, stemRegistry, ticket.key(), false));
+        } catch (RuntimeException e) {
+            ticket.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Unique
+    private boolean isIdPendingCreation(ResourceLocation id) {
+        ResourceKey<Level> key = ResourceKey.create(Registries.DIMENSION, id);
+        return this.pendingLevels.containsKey(key) || this.pendingCreationKeys.contains(key);
+    }
+
+    @Unique
+    private static @Nullable CompoundTag encodeDimensionType(@NotNull DimensionType type) {
+        final DataResult<Tag> encodedType = DimensionType.DIRECT_CODEC.encode(type, NbtOps.INSTANCE, new CompoundTag());
+        if (encodedType.error().isPresent()) {
+            Constants.LOGGER.error("Failed to encode dimension type! {}", encodedType.error().get().message());
+            return null;
+        }
+        return (CompoundTag) encodedType.get().orThrow();
+    }
+
+    @Unique
+    private void reloadDimensionTags(@NotNull Collection<ResourceLocation> addedTypes, @NotNull Collection<ServerPlayer> players) {
+        if (addedTypes.isEmpty()) return; // reused types are already bound to their tags, on the server and on clients
+
         for (TagManager.LoadResult<?> result : ((ReloadableServerResourcesAccessor) this.resources.managers()).getTagManager().getResult()) {
             if (result.key() == Registries.DIMENSION_TYPE) {
                 Registry<DimensionType> types = this.registryAccess().registryOrThrow(Registries.DIMENSION_TYPE);
@@ -402,6 +1416,16 @@ public abstract class MinecraftServerMixin implements DynamicDimensionRegistry {
                 break;
             }
         }
-        this.getPlayerList().broadcastAll(new ClientboundUpdateTagsPacket(TagNetworkSerialization.serializeTagsToNetwork(this.registries())));
+
+        // only send the tags of the new dimension types, clients already know about the rest
+        final Registry<DimensionType> types = this.registryAccess().registryOrThrow(Registries.DIMENSION_TYPE);
+        final Map<ResourceLocation, List<TagKey<DimensionType>>> tags = new LinkedHashMap<>();
+        for (ResourceLocation id : addedTypes) {
+            types.getHolder(ResourceKey.create(Registries.DIMENSION_TYPE, id)).ifPresent(holder -> tags.put(id, holder.tags().toList()));
+        }
+
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        buf.writeMap(tags, FriendlyByteBuf::writeResourceLocation, (b, list) -> b.writeCollection(list, (b1, tag) -> b1.writeResourceLocation(tag.location())));
+        DimensionPacketBroadcaster.broadcast(players, Constants.UPDATE_DIMENSION_TAGS_PACKET, buf);
     }
 }
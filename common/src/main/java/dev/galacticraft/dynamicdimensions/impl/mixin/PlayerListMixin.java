@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2021-2024 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.dynamicdimensions.impl.mixin;
+
+import dev.galacticraft.dynamicdimensions.impl.accessor.DimensionManifestAccessor;
+import net.minecraft.network.Connection;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.network.CommonListenerCookie;
+import net.minecraft.server.players.PlayerList;
+import net.minecraft.world.level.Level;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import java.util.Set;
+
+@Mixin(PlayerList.class)
+public abstract class PlayerListMixin {
+    @Shadow
+    @Final
+    private MinecraftServer server;
+
+    @Redirect(method = "placeNewPlayer", at = @At(value = "INVOKE", target = "Lnet/minecraft/server/MinecraftServer;levelKeys()Ljava/util/Set;"))
+    private Set<ResourceKey<Level>> filterLoginLevels(MinecraftServer server, Connection connection, ServerPlayer player, CommonListenerCookie cookie) {
+        return ((DimensionManifestAccessor) server).dynamicDimensions$filterLoginLevels(player, server.levelKeys());
+    }
+
+    // the types must arrive before the login packet, as the player may be logging into a dynamic dimension
+    @Inject(method = "placeNewPlayer", at = @At(value = "INVOKE", target = "Lnet/minecraft/server/network/ServerGamePacketListenerImpl;send(Lnet/minecraft/network/protocol/Packet;)V", ordinal = 0))
+    private void sendDimensionManifest(Connection connection, ServerPlayer player, CommonListenerCookie cookie, CallbackInfo ci) {
+        ((DimensionManifestAccessor) this.server).dynamicDimensions$sendManifest(player);
+    }
+
+    // the levels must arrive after the login packet, which replaces the client's level list
+    @Inject(method = "placeNewPlayer", at = @At(value = "INVOKE", target = "Lnet/minecraft/server/network/ServerGamePacketListenerImpl;send(Lnet/minecraft/network/protocol/Packet;)V", ordinal = 0, shift = At.Shift.AFTER))
+    private void sendDimensionManifestLevels(Connection connection, ServerPlayer player, CommonListenerCookie cookie, CallbackInfo ci) {
+        ((DimensionManifestAccessor) this.server).dynamicDimensions$sendManifestLevels(player);
+    }
+
+    @Inject(method = "respawn", at = @At("HEAD"))
+    private void revealRespawnDimension(ServerPlayer player, boolean keepEverything, CallbackInfoReturnable<ServerPlayer> cir) {
+        ((DimensionManifestAccessor) this.server).dynamicDimensions$revealDimension(player, player.getRespawnDimension());
+    }
+
+    @Inject(method = "remove", at = @At("HEAD"))
+    private void forgetPlayer(ServerPlayer player, CallbackInfo ci) {
+        ((DimensionManifestAccessor) this.server).dynamicDimensions$forgetPlayer(player);
+    }
+}
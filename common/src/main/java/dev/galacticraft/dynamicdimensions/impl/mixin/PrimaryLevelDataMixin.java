@@ -22,40 +22,57 @@
 
 package dev.galacticraft.dynamicdimensions.impl.mixin;
 
+import com.mojang.serialization.DataResult;
+import com.mojang.serialization.DynamicOps;
 import dev.galacticraft.dynamicdimensions.impl.Constants;
 import dev.galacticraft.dynamicdimensions.impl.accessor.PrimaryLevelDataAccessor;
+import net.minecraft.core.MappedRegistry;
+import net.minecraft.core.Registry;
 import net.minecraft.core.RegistryAccess;
-import net.minecraft.nbt.CompoundTag;
+import net.minecraft.core.registries.Registries;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.level.dimension.LevelStem;
+import net.minecraft.world.level.levelgen.WorldDimensions;
+import net.minecraft.world.level.levelgen.WorldGenSettings;
+import net.minecraft.world.level.levelgen.WorldOptions;
 import net.minecraft.world.level.storage.PrimaryLevelData;
 import org.jetbrains.annotations.NotNull;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
-import org.spongepowered.asm.mixin.injection.Inject;
-import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.Redirect;
 
-import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Mixin(PrimaryLevelData.class)
 public abstract class PrimaryLevelDataMixin implements PrimaryLevelDataAccessor {
-    private @Unique List<ResourceKey<Level>> dynamicDimensions = null;
+    private @Unique Set<ResourceKey<Level>> dynamicDimensions = null;
 
-    @Inject(method = "setTagData", at = @At("RETURN"))
-    private void skipWritingDynamicDimensions(RegistryAccess registryAccess, @NotNull CompoundTag levelNbt, CompoundTag playerNbt, CallbackInfo ci) {
-        if (this.dynamicDimensions != null) {
-            CompoundTag dimensions = levelNbt.getCompound("WorldGenSettings").getCompound("dimensions");
-            for (ResourceKey<Level> dynamicDimension : this.dynamicDimensions) {
-                dimensions.remove(dynamicDimension.location().toString());
-            }
-        } else {
+    // dynamic dimensions are left out before encoding, so their chunk generators are never encoded
+    @Redirect(method = "setTagData", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/level/levelgen/WorldGenSettings;encode(Lcom/mojang/serialization/DynamicOps;Lnet/minecraft/world/level/levelgen/WorldOptions;Lnet/minecraft/core/RegistryAccess;)Lcom/mojang/serialization/DataResult;"))
+    private <T> DataResult<T> skipWritingDynamicDimensions(DynamicOps<T> ops, WorldOptions options, RegistryAccess registryAccess) {
+        if (this.dynamicDimensions == null) {
             Constants.LOGGER.warn("Failed to obtain list of dynamic dimensions");
+            return WorldGenSettings.encode(ops, options, registryAccess);
+        }
+        if (this.dynamicDimensions.isEmpty()) {
+            return WorldGenSettings.encode(ops, options, registryAccess);
+        }
+
+        Registry<LevelStem> stems = registryAccess.registryOrThrow(Registries.LEVEL_STEM);
+        MappedRegistry<LevelStem> filtered = new MappedRegistry<>(Registries.LEVEL_STEM, stems.registryLifecycle());
+        for (Map.Entry<ResourceKey<LevelStem>, LevelStem> entry : stems.entrySet()) {
+            if (!this.dynamicDimensions.contains(Registries.levelStemToLevel(entry.getKey()))) {
+                filtered.register(entry.getKey(), entry.getValue(), stems.lifecycle(entry.getValue()));
+            }
         }
+        return WorldGenSettings.encode(ops, options, new WorldDimensions(filtered.freeze()));
     }
 
     @Override
-    public void dynamicDimensions$setDynamicList(@NotNull List<ResourceKey<Level>> dynamicDimensions) {
+    public void dynamicDimensions$setDynamicDimensions(@NotNull Set<ResourceKey<Level>> dynamicDimensions) {
         this.dynamicDimensions = dynamicDimensions;
     }
 }
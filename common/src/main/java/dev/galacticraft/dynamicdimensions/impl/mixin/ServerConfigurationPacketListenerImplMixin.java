@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2021-2024 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.dynamicdimensions.impl.mixin;
+
+import dev.galacticraft.dynamicdimensions.impl.accessor.DimensionManifestAccessor;
+import net.minecraft.core.MappedRegistry;
+import net.minecraft.core.Registry;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.network.Connection;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.CommonListenerCookie;
+import net.minecraft.server.network.ServerCommonPacketListenerImpl;
+import net.minecraft.server.network.ServerConfigurationPacketListenerImpl;
+import net.minecraft.world.level.dimension.DimensionType;
+import org.jetbrains.annotations.NotNull;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.ModifyArg;
+
+import java.util.List;
+
+@Mixin(ServerConfigurationPacketListenerImpl.class)
+public abstract class ServerConfigurationPacketListenerImplMixin extends ServerCommonPacketListenerImpl {
+    private ServerConfigurationPacketListenerImplMixin(MinecraftServer server, Connection connection, CommonListenerCookie cookie) {
+        super(server, connection, cookie);
+    }
+
+    // dynamic dimension types are sent in the dimension manifest once the player joins
+    @ModifyArg(method = "startConfiguration", at = @At(value = "INVOKE", target = "Lnet/minecraft/network/protocol/configuration/ClientboundRegistryDataPacket;<init>(Lnet/minecraft/core/RegistryAccess$Frozen;)V"))
+    private RegistryAccess.Frozen removeDynamicDimensionTypes(RegistryAccess.Frozen registries) {
+        DimensionManifestAccessor manifest = (DimensionManifestAccessor) this.server;
+        Registry<DimensionType> types = registries.registryOrThrow(Registries.DIMENSION_TYPE);
+        if (types.keySet().stream().noneMatch(manifest::dynamicDimensions$isDynamicType)) return registries;
+
+        List<? extends Registry<?>> filtered = registries.registries()
+                .map(entry -> entry.key().equals(Registries.DIMENSION_TYPE) ? (Registry<?>) this.filterDimensionTypes(types, manifest) : entry.value())
+                .toList();
+        return new RegistryAccess.ImmutableRegistryAccess(filtered).freeze();
+    }
+
+    @Unique
+    private @NotNull Registry<DimensionType> filterDimensionTypes(@NotNull Registry<DimensionType> types, @NotNull DimensionManifestAccessor manifest) {
+        // raw ids are synced along with the entries, so the remaining types keep their ids
+        MappedRegistry<DimensionType> filtered = new MappedRegistry<>(Registries.DIMENSION_TYPE, types.registryLifecycle());
+        types.holders().forEach(holder -> {
+            if (!manifest.dynamicDimensions$isDynamicType(holder.key().location())) {
+                filtered.registerMapping(types.getId(holder.value()), holder.key(), holder.value(), types.lifecycle(holder.value()));
+            }
+        });
+        return filtered.freeze();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2021-2024 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.dynamicdimensions.impl.mixin;
+
+import dev.galacticraft.dynamicdimensions.impl.accessor.DimensionAdmissionAccessor;
+import dev.galacticraft.dynamicdimensions.impl.accessor.DimensionManifestAccessor;
+import dev.galacticraft.dynamicdimensions.impl.accessor.DimensionTravelAccessor;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
+import org.jetbrains.annotations.NotNull;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+@Mixin(ServerPlayer.class)
+public abstract class ServerPlayerMixin implements DimensionTravelAccessor {
+    @Shadow
+    @Final
+    public MinecraftServer server;
+
+    // players may be sent to dimensions that are not visible to them
+    @Inject(method = "teleportTo(Lnet/minecraft/server/level/ServerLevel;DDDFF)V", at = @At("HEAD"), cancellable = true)
+    private void revealTeleportDimension(ServerLevel level, double x, double y, double z, float yRot, float xRot, CallbackInfo ci) {
+        if (!this.dynamicDimensions$prepareTravel(level)) {
+            ci.cancel();
+        }
+    }
+
+    // NeoForge replaces this method with an overload taking a teleporter, which is handled by the NeoForge mixins
+    @Inject(method = "changeDimension(Lnet/minecraft/server/level/ServerLevel;)Lnet/minecraft/world/entity/Entity;", at = @At("HEAD"), cancellable = true, require = 0)
+    private void revealDestinationDimension(ServerLevel level, CallbackInfoReturnable<Entity> cir) {
+        if (!this.dynamicDimensions$prepareTravel(level)) {
+            cir.setReturnValue(null);
+        }
+    }
+
+    @Override
+    public boolean dynamicDimensions$prepareTravel(@NotNull ServerLevel destination) {
+        ServerPlayer player = (ServerPlayer) (Object) this;
+        if (player.level() == destination) return true;
+        if (((DimensionAdmissionAccessor) this.server).dynamicDimensions$isAdmissionBlocked(destination.dimension())) {
+            player.sendSystemMessage(Component.translatable("dynamicdimensions.pregenerating", destination.dimension().location()), true);
+            return false;
+        }
+        ((DimensionManifestAccessor) this.server).dynamicDimensions$revealDimension(player, destination.dimension());
+        return true;
+    }
+}
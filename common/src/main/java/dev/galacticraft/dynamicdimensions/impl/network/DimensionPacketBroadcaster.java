@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2021-2024 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.dynamicdimensions.impl.network;
+
+import lol.bai.badpackets.api.PacketSender;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.function.BiConsumer;
+
+/**
+ * Sends one encoded packet to many players without copying it.
+ */
+@ApiStatus.Internal
+public final class DimensionPacketBroadcaster {
+    private DimensionPacketBroadcaster() {}
+
+    /**
+     * Sends a packet to every given player.
+     * Each player receives a retained duplicate of {@code buf} (sharing its contents, but with independent indices),
+     * so the packet is encoded once and its contents are never copied.
+     * Takes ownership of {@code buf}, which is released once all players have been sent a duplicate.
+     *
+     * @param players the players to send the packet to
+     * @param id      the packet id
+     * @param buf     the encoded packet
+     */
+    public static void broadcast(@NotNull Collection<ServerPlayer> players, @NotNull ResourceLocation id, @NotNull FriendlyByteBuf buf) {
+        broadcast(players, (player, duplicate) -> PacketSender.s2c(player).send(id, duplicate), buf);
+    }
+
+    /**
+     * Hands a retained duplicate of {@code buf} to {@code sender} once per target, then releases {@code buf}.
+     *
+     * @param targets the recipients
+     * @param sender  sends (and takes ownership of) a duplicate
+     * @param buf     the encoded packet
+     */
+    public static <T> void broadcast(@NotNull Collection<T> targets, @NotNull BiConsumer<T, FriendlyByteBuf> sender, @NotNull FriendlyByteBuf buf) {
+        try {
+            for (T target : targets) {
+                sender.accept(target, new FriendlyByteBuf(buf.retainedDuplicate()));
+            }
+        } finally {
+            buf.release();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2021-2024 Team Galacticraft
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.galacticraft.dynamicdimensions.impl.network;
+
+import dev.galacticraft.dynamicdimensions.impl.Constants;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtOps;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.BlockTags;
+import net.minecraft.tags.TagKey;
+import net.minecraft.util.valueproviders.ConstantInt;
+import net.minecraft.util.valueproviders.IntProvider;
+import net.minecraft.util.valueproviders.UniformInt;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.dimension.BuiltinDimensionTypes;
+import net.minecraft.world.level.dimension.DimensionType;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * A compact binary encoding of {@link DimensionType}s for dimension packets.
+ * Well-known tags and effects are written as indices, and numbers as (zig-zag) var-ints.
+ * The format is versioned, so that it can be extended without breaking older clients silently.
+ */
+@ApiStatus.Internal
+public final class DimensionTypeCodec {
+    private static final int VERSION = 1;
+
+    private static final List<TagKey<Block>> KNOWN_INFINIBURN = List.of(BlockTags.INFINIBURN_OVERWORLD, BlockTags.INFINIBURN_NETHER, BlockTags.INFINIBURN_END);
+    private static final List<ResourceLocation> KNOWN_EFFECTS = List.of(BuiltinDimensionTypes.OVERWORLD_EFFECTS, BuiltinDimensionTypes.NETHER_EFFECTS, BuiltinDimensionTypes.END_EFFECTS);
+
+    private static final int FIXED_TIME = 1;
+    private static final int HAS_SKY_LIGHT = 1 << 1;
+    private static final int HAS_CEILING = 1 << 2;
+    private static final int ULTRA_WARM = 1 << 3;
+    private static final int NATURAL = 1 << 4;
+    private static final int BED_WORKS = 1 << 5;
+    private static final int RESPAWN_ANCHOR_WORKS = 1 << 6;
+    private static final int PIGLIN_SAFE = 1 << 7;
+    private static final int HAS_RAIDS = 1 << 8;
+
+    private static final int PROVIDER_OTHER = 0;
+    private static final int PROVIDER_CONSTANT = 1;
+    private static final int PROVIDER_UNIFORM = 2;
+
+    private DimensionTypeCodec() {}
+
+    public static void write(@NotNull FriendlyByteBuf buf, @NotNull DimensionType type) {
+        buf.writeByte(VERSION);
+
+        int flags = 0;
+        if (type.fixedTime().isPresent()) flags |= FIXED_TIME;
+        if (type.hasSkyLight()) flags |= HAS_SKY_LIGHT;
+        if (type.hasCeiling()) flags |= HAS_CEILING;
+        if (type.ultraWarm()) flags |= ULTRA_WARM;
+        if (type.natural()) flags |= NATURAL;
+        if (type.bedWorks()) flags |= BED_WORKS;
+        if (type.respawnAnchorWorks()) flags |= RESPAWN_ANCHOR_WORKS;
+        if (type.piglinSafe()) flags |= PIGLIN_SAFE;
+        if (type.hasRaids()) flags |= HAS_RAIDS;
+        buf.writeVarInt(flags);
+
+        if (type.fixedTime().isPresent()) buf.writeVarLong(type.fixedTime().getAsLong());
+        buf.writeDouble(type.coordinateScale());
+        writeSignedVarInt(buf, type.minY());
+        buf.writeVarInt(type.height());
+        buf.writeVarInt(type.logicalHeight());
+
+        int infiniburn = KNOWN_INFINIBURN.indexOf(type.infiniburn());
+        buf.writeVarInt(infiniburn + 1);
+        if (infiniburn == -1) buf.writeResourceLocation(type.infiniburn().location());
+
+        int effects = KNOWN_EFFECTS.indexOf(type.effectsLocation());
+        buf.writeVarInt(effects + 1);
+        if (effects == -1) buf.writeResourceLocation(type.effectsLocation());
+
+        buf.writeFloat(type.ambientLight());
+        writeIntProvider(buf, type.monsterSpawnLightTest());
+        buf.writeVarInt(type.monsterSpawnBlockLightLimit());
+    }
+
+    public static @NotNull DimensionType read(@NotNull FriendlyByteBuf buf) {
+        int version = buf.readByte();
+        if (version != VERSION) {
+            throw new IllegalStateException("Unsupported dimension type encoding version " + version + " (expected " + VERSION + ")! Is the server running a different version of " + Constants.MOD_ID + "?");
+        }
+
+        int flags = buf.readVarInt();
+        OptionalLong fixedTime = (flags & FIXED_TIME) != 0 ? OptionalLong.of(buf.readVarLong()) : OptionalLong.empty();
+        double coordinateScale = buf.readDouble();
+        int minY = readSignedVarInt(buf);
+        int height = buf.readVarInt();
+        int logicalHeight = buf.readVarInt();
+
+        int infiniburnIndex = buf.readVarInt();
+        TagKey<Block> infiniburn = infiniburnIndex == 0 ? TagKey.create(Registries.BLOCK, buf.readResourceLocation()) : KNOWN_INFINIBURN.get(infiniburnIndex - 1);
+
+        int effectsIndex = buf.readVarInt();
+        ResourceLocation effects = effectsIndex == 0 ? buf.readResourceLocation() : KNOWN_EFFECTS.get(effectsIndex - 1);
+
+        float ambientLight = buf.readFloat();
+        IntProvider monsterSpawnLightTest = readIntProvider(buf);
+        int monsterSpawnBlockLightLimit = buf.readVarInt();
+
+        return new DimensionType(fixedTime,
+                (flags & HAS_SKY_LIGHT) != 0,
+                (flags & HAS_CEILING) != 0,
+                (flags & ULTRA_WARM) != 0,
+                (flags & NATURAL) != 0,
+                coordinateScale,
+                (flags & BED_WORKS) != 0,
+                (flags & RESPAWN_ANCHOR_WORKS) != 0,
+                minY, height, logicalHeight,
+                infiniburn, effects, ambientLight,
+                new DimensionType.MonsterSettings((flags & PIGLIN_SAFE) != 0, (flags & HAS_RAIDS) != 0, monsterSpawnLightTest, monsterSpawnBlockLightLimit));
+    }
+
+    private static void writeIntProvider(@NotNull FriendlyByteBuf buf, @NotNull IntProvider provider) {
+        if (provider instanceof ConstantInt constant) {
+            buf.writeVarInt(PROVIDER_CONSTANT);
+            writeSignedVarInt(buf, constant.getValue());
+        } else if (provider instanceof UniformInt) {
+            buf.writeVarInt(PROVIDER_UNIFORM);
+            writeSignedVarInt(buf, provider.getMinValue());
+            writeSignedVarInt(buf, provider.getMaxValue());
+        } else {
+            // rare, fall back to the codec
+            buf.writeVarInt(PROVIDER_OTHER);
+            buf.writeNbt((CompoundTag) IntProvider.CODEC.encodeStart(NbtOps.INSTANCE, provider).getOrThrow(false, Constants.LOGGER::error));
+        }
+    }
+
+    private static @NotNull IntProvider readIntProvider(@NotNull FriendlyByteBuf buf) {
+        return switch (buf.readVarInt()) {
+            case PROVIDER_CONSTANT -> ConstantInt.of(readSignedVarInt(buf));
+            case PROVIDER_UNIFORM -> UniformInt.of(readSignedVarInt(buf), readSignedVarInt(buf));
+            case PROVIDER_OTHER -> IntProvider.CODEC.parse(NbtOps.INSTANCE, buf.readNbt()).getOrThrow(false, Constants.LOGGER::error);
+            default -> throw new IllegalStateException("Unknown int provider kind!");
+        };
+    }
+
+    private static void writeSignedVarInt(@NotNull FriendlyByteBuf buf, int value) {
+        buf.writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    private static int readSignedVarInt(@NotNull FriendlyByteBuf buf) {
+        int value = buf.readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -25,79 +25,126 @@ package dev.galacticraft.dynamicdimensions.impl.registry;
 import com.google.common.collect.ImmutableList;
 import com.mojang.serialization.Lifecycle;
 import dev.galacticraft.dynamicdimensions.impl.Constants;
+import dev.galacticraft.dynamicdimensions.impl.mixin.HolderReferenceAccessor;
 import dev.galacticraft.dynamicdimensions.impl.mixin.HolderSetNamedAccessor;
 import dev.galacticraft.dynamicdimensions.impl.mixin.MappedRegistryAccessor;
 import it.unimi.dsi.fastutil.objects.ObjectList;
 import net.minecraft.core.*;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagKey;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 public final class RegistryUtil {
     private RegistryUtil() {}
 
     public static <T> void unregister(@NotNull Registry<T> registry, @NotNull ResourceLocation id) {
-        if (registry.containsKey(id)) {
-            if (registry instanceof MappedRegistry<T>) {
-                if (registry instanceof DefaultedRegistry<?> reg) {
-                    if (reg.getDefaultKey().equals(id)) {
-                        throw new IllegalArgumentException("Cannot remove default value in registry!");
-                    }
-                }
+        unregister(registry, List.of(id));
+    }
 
-                MappedRegistryAccessor<T> accessor = ((MappedRegistryAccessor<T>) registry);
+    /**
+     * Removes several entries at once. Trailing ids, the lifecycle and affected tags are only rebuilt once.
+     */
+    public static <T> void unregister(@NotNull Registry<T> registry, @NotNull Collection<ResourceLocation> ids) {
+        if (!(registry instanceof MappedRegistry<T>)) return;
+        MappedRegistryAccessor<T> accessor = ((MappedRegistryAccessor<T>) registry);
+        ObjectList<Holder.Reference<T>> byId = accessor.getById();
 
-                T type = accessor.getByLocation().get(id).value();
-                ObjectList<Holder.Reference<T>> byId = accessor.getById();
-                if (byId.size() <= accessor.getToId().getInt(type)) {
-                    Constants.LOGGER.warn("ID mismatch in registry '{}'", registry.key());
-                }
-                accessor.getToId().removeInt(type);
-
-                boolean success = false;
-                for (int i = 0; i < byId.size(); i++) {
-                    Holder.Reference<T> reference = byId.get(i);
-                    if (reference != null) {
-                        if (reference.key().location().equals(id)) {
-                            byId.set(i, null);
-                            success = true;
-                            int max = 0;
-                            for (int i1 = 0; i1 < byId.size(); i1++) {
-                                max = byId.get(i1) != null ? i1 : max;
-                            }
-                            byId.size(max + 1);
-                            accessor.setNextId(max);
-                            break;
-                        }
-                    }
+        Set<ResourceLocation> removed = new HashSet<>();
+        Set<TagKey<T>> tags = new HashSet<>();
+        boolean experimental = false;
+        for (ResourceLocation id : ids) {
+            if (!registry.containsKey(id)) {
+                Constants.LOGGER.warn("Tried to remove non-existent key {}", id);
+                continue;
+            }
+            if (registry instanceof DefaultedRegistry<?> reg) {
+                if (reg.getDefaultKey().equals(id)) {
+                    throw new IllegalArgumentException("Cannot remove default value in registry!");
                 }
+            }
 
-                assert success;
-                accessor.getByLocation().remove(id);
-                accessor.getByKey().remove(ResourceKey.create(registry.key(), id));
-                accessor.getByValue().remove(type);
-                accessor.getLifecycles().remove(type);
-                Lifecycle base = Lifecycle.stable();
-                for (Lifecycle value : accessor.getLifecycles().values()) {
-                    base.add(value);
-                }
-                accessor.setRegistryLifecycle(base);
-                for (HolderSet.Named<T> holderSet : accessor.tags().values()) {
-                    HolderSetNamedAccessor<T> set = (HolderSetNamedAccessor<T>) holderSet;
-                    ImmutableList.Builder<Holder<T>> list = ImmutableList.builder();
-                    for (Holder<T> content : set.getContents()) {
-                        if (!content.is(id)) list.add(content);
-                    }
-                    set.setContents(list.build());
-                }
-                if (accessor.getUnregisteredIntrusiveHolders() != null) {
-                    accessor.getUnregisteredIntrusiveHolders().remove(type);
+            Holder.Reference<T> reference = accessor.getByLocation().remove(id);
+            T type = reference.value();
+            int rawId = accessor.getToId().removeInt(type);
+            if (rawId < 0 || rawId >= byId.size() || byId.get(rawId) != reference) {
+                Constants.LOGGER.warn("ID mismatch in registry '{}'", registry.key());
+                rawId = byId.indexOf(reference);
+            }
+
+            assert rawId != -1;
+            if (rawId != -1) {
+                byId.set(rawId, null);
+            }
+
+            accessor.getByKey().remove(reference.key());
+            accessor.getByValue().remove(type);
+            Lifecycle lifecycle = accessor.getLifecycles().remove(type);
+            if (lifecycle != null && lifecycle != Lifecycle.stable()) {
+                experimental = true;
+            }
+            if (accessor.getUnregisteredIntrusiveHolders() != null) {
+                accessor.getUnregisteredIntrusiveHolders().remove(type);
+            }
+            reference.tags().forEach(tags::add);
+            removed.add(id);
+        }
+        if (removed.isEmpty()) return;
+
+        // trim trailing empty slots so that the next registration reuses them
+        int size = byId.size();
+        while (size > 0 && byId.get(size - 1) == null) size--;
+        byId.size(size);
+        accessor.setNextId(size);
+
+        if (experimental) {
+            Lifecycle base = Lifecycle.stable();
+            for (Lifecycle value : accessor.getLifecycles().values()) {
+                base = base.add(value);
+            }
+            accessor.setRegistryLifecycle(base);
+        }
+
+        // only rebuild the tags that actually contain a removed entry
+        for (TagKey<T> tag : tags) {
+            HolderSet.Named<T> holderSet = accessor.tags().get(tag);
+            if (holderSet != null) {
+                HolderSetNamedAccessor<T> set = (HolderSetNamedAccessor<T>) holderSet;
+                ImmutableList.Builder<Holder<T>> list = ImmutableList.builder();
+                for (Holder<T> content : set.getContents()) {
+                    if (content.unwrapKey().map(key -> !removed.contains(key.location())).orElse(true)) list.add(content);
                 }
-                accessor.setHoldersInOrder(null);
+                set.setContents(list.build());
             }
-        } else {
-            Constants.LOGGER.warn("Tried to remove non-existent key {}", id);
         }
+        accessor.setHoldersInOrder(null);
+    }
+
+    /**
+     * Unfreezes registries for many registrations at once, as freezing a registry binds and validates every entry.
+     * {@link #registerUnfreeze} does not freeze registries that were unfrozen this way; they are frozen once the returned handle is closed.
+     * Holders registered in the meantime are only bound to their values once the registry is frozen again.
+     */
+    public static @NotNull Unfrozen unfreeze(@NotNull Registry<?>... registries) {
+        List<Registry<?>> unfrozen = new ArrayList<>(registries.length);
+        for (Registry<?> registry : registries) {
+            MappedRegistryAccessor<?> accessor = (MappedRegistryAccessor<?>) registry;
+            if (accessor.isFrozen()) {
+                accessor.setFrozen(false);
+                unfrozen.add(registry);
+            }
+        }
+        return () -> {
+            for (Registry<?> registry : unfrozen) {
+                registry.freeze();
+            }
+        };
     }
 
     public static <T> Holder.@NotNull Reference<T> registerUnfreeze(@NotNull Registry<T> registry, ResourceLocation id, T value) {
@@ -138,4 +185,39 @@ public final class RegistryUtil {
             return registry.getHolderOrThrow(ResourceKey.create(registry.key(), id));
         }
     }
+
+    /**
+     * Returns whether the given value (by identity) is registered, without scanning the registry.
+     */
+    public static <T> boolean containsValue(@NotNull Registry<T> registry, @NotNull T value) {
+        return ((MappedRegistryAccessor<T>) registry).getByValue().containsKey(value);
+    }
+
+    public static <T> void bindTags(@NotNull Registry<T> registry, @NotNull ResourceLocation id, @NotNull Collection<TagKey<T>> tags) {
+        MappedRegistryAccessor<T> accessor = (MappedRegistryAccessor<T>) registry;
+        Holder.Reference<T> reference = accessor.getByLocation().get(id);
+        if (reference == null) {
+            Constants.LOGGER.warn("Tried to bind tags to non-existent key {}", id);
+            return;
+        }
+
+        ((HolderReferenceAccessor<T>) reference).invokeBindTags(tags);
+        for (TagKey<T> tag : tags) {
+            HolderSetNamedAccessor<T> set = (HolderSetNamedAccessor<T>) registry.getOrCreateTag(tag);
+            if (!set.getContents().contains(reference)) {
+                List<Holder<T>> contents = new ArrayList<>(set.getContents());
+                contents.add(reference);
+                set.setContents(List.copyOf(contents));
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface Unfrozen extends AutoCloseable {
+        /**
+         * Freezes the registries again.
+         */
+        @Override
+        void close();
+    }
 }
@@ -29,6 +29,7 @@ import com.google.gson.annotations.Expose;
 import dev.galacticraft.dynamicdimensions.impl.Constants;
 import dev.galacticraft.dynamicdimensions.impl.config.DynamicDimensionsConfig;
 import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.util.Mth;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
@@ -51,14 +52,47 @@ public final class DynamicDimensionsConfigImpl implements DynamicDimensionsConfi
     private boolean enableCommands;
     @Expose
     private int commandPermissionLevel;
+    @Expose
+    private int maxDimensionCommitsPerTick;
+    @Expose
+    private int dormantIdleTicks;
+    @Expose
+    private int idleUnloadTicks;
+    @Expose
+    private int maxIdleUnloadsPerTick;
+    @Expose
+    private int deletionFilesPerSecond;
+    @Expose
+    private int maxQueueMillisPerTick;
+    @Expose
+    private int maxQueueOperationsPerTick;
+    @Expose
+    private int pregenerationChunksPerTick;
+    @Expose
+    private boolean admitPlayersWhilePregenerating;
+    @Expose
+    private boolean persistDynamicDimensions;
+    @Expose
+    private boolean deferLoadedDimensions;
 
     private DynamicDimensionsConfigImpl() {
-        this(false, 2);
+        this(false, 2, 2, 1200, 0, 1, 256, 5, 8, 16, false, false, false);
     }
 
-    private DynamicDimensionsConfigImpl(boolean enableCommands, int commandPermissionLevel) {
+    private DynamicDimensionsConfigImpl(boolean enableCommands, int commandPermissionLevel, int maxDimensionCommitsPerTick, int dormantIdleTicks, int idleUnloadTicks, int maxIdleUnloadsPerTick, int deletionFilesPerSecond, int maxQueueMillisPerTick, int maxQueueOperationsPerTick, int pregenerationChunksPerTick, boolean admitPlayersWhilePregenerating, boolean persistDynamicDimensions, boolean deferLoadedDimensions) {
         this.enableCommands = enableCommands;
         this.commandPermissionLevel = commandPermissionLevel;
+        this.maxDimensionCommitsPerTick = maxDimensionCommitsPerTick;
+        this.dormantIdleTicks = dormantIdleTicks;
+        this.idleUnloadTicks = idleUnloadTicks;
+        this.maxIdleUnloadsPerTick = maxIdleUnloadsPerTick;
+        this.deletionFilesPerSecond = deletionFilesPerSecond;
+        this.maxQueueMillisPerTick = maxQueueMillisPerTick;
+        this.maxQueueOperationsPerTick = maxQueueOperationsPerTick;
+        this.pregenerationChunksPerTick = pregenerationChunksPerTick;
+        this.admitPlayersWhilePregenerating = admitPlayersWhilePregenerating;
+        this.persistDynamicDimensions = persistDynamicDimensions;
+        this.deferLoadedDimensions = deferLoadedDimensions;
     }
 
     public static @NotNull DynamicDimensionsConfigImpl create() {
@@ -67,6 +101,7 @@ public final class DynamicDimensionsConfigImpl implements DynamicDimensionsConfi
             try (FileReader json = new FileReader(file, StandardCharsets.UTF_8)) {
                 DynamicDimensionsConfigImpl config = GSON.fromJson(json, DynamicDimensionsConfigImpl.class);
                 if (config != null) {
+                    config.validate();
                     return config;
                 } else {
                     throw new RuntimeException("Dynamic Dimensions: Failed to read configuration file!");
@@ -89,6 +124,30 @@ public final class DynamicDimensionsConfigImpl implements DynamicDimensionsConfi
         }
     }
 
+    /**
+     * Clamps every value to the range allowed by the NeoForge configuration.
+     */
+    private void validate() {
+        this.commandPermissionLevel = clamp("command_permission_level", this.commandPermissionLevel, 0, 99);
+        this.maxDimensionCommitsPerTick = clamp("max_dimension_commits_per_tick", this.maxDimensionCommitsPerTick, 1, 1024);
+        this.dormantIdleTicks = clamp("dormant_idle_ticks", this.dormantIdleTicks, 20, Integer.MAX_VALUE);
+        this.idleUnloadTicks = clamp("idle_unload_ticks", this.idleUnloadTicks, 0, Integer.MAX_VALUE);
+        this.maxIdleUnloadsPerTick = clamp("max_idle_unloads_per_tick", this.maxIdleUnloadsPerTick, 1, 64);
+        this.deletionFilesPerSecond = clamp("deletion_files_per_second", this.deletionFilesPerSecond, 1, Integer.MAX_VALUE);
+        this.maxQueueMillisPerTick = clamp("max_queue_millis_per_tick", this.maxQueueMillisPerTick, 1, 1000);
+        this.maxQueueOperationsPerTick = clamp("max_queue_operations_per_tick", this.maxQueueOperationsPerTick, 1, 1024);
+        this.pregenerationChunksPerTick = clamp("pregeneration_chunks_per_tick", this.pregenerationChunksPerTick, 1, 1024);
+    }
+
+    private static int clamp(@NotNull String name, int value, int min, int max) {
+        if (value < min || value > max) {
+            int clamped = Mth.clamp(value, min, max);
+            Constants.LOGGER.warn("Config option '{}' is out of range [{}, {}]: {}, using {} instead", name, min, max, value, clamped);
+            return clamped;
+        }
+        return value;
+    }
+
     @Override
     public boolean enableCommands() {
         return this.enableCommands;
@@ -99,6 +158,61 @@ public final class DynamicDimensionsConfigImpl implements DynamicDimensionsConfi
         return this.commandPermissionLevel;
     }
 
+    @Override
+    public int maxDimensionCommitsPerTick() {
+        return this.maxDimensionCommitsPerTick;
+    }
+
+    @Override
+    public int dormantIdleTicks() {
+        return this.dormantIdleTicks;
+    }
+
+    @Override
+    public int idleUnloadTicks() {
+        return this.idleUnloadTicks;
+    }
+
+    @Override
+    public int maxIdleUnloadsPerTick() {
+        return this.maxIdleUnloadsPerTick;
+    }
+
+    @Override
+    public int deletionFilesPerSecond() {
+        return this.deletionFilesPerSecond;
+    }
+
+    @Override
+    public int maxQueueMillisPerTick() {
+        return this.maxQueueMillisPerTick;
+    }
+
+    @Override
+    public int maxQueueOperationsPerTick() {
+        return this.maxQueueOperationsPerTick;
+    }
+
+    @Override
+    public int pregenerationChunksPerTick() {
+        return this.pregenerationChunksPerTick;
+    }
+
+    @Override
+    public boolean admitPlayersWhilePregenerating() {
+        return this.admitPlayersWhilePregenerating;
+    }
+
+    @Override
+    public boolean persistDynamicDimensions() {
+        return this.persistDynamicDimensions;
+    }
+
+    @Override
+    public boolean deferLoadedDimensions() {
+        return this.deferLoadedDimensions;
+    }
+
     @Override
     public void enableCommands(boolean value) {
         this.enableCommands = value;
@@ -107,6 +221,70 @@ public final class DynamicDimensionsConfigImpl implements DynamicDimensionsConfi
     @Override
     public void commandPermissionLevel(int value) {
         this.commandPermissionLevel = value;
+        this.validate();
+    }
+
+    @Override
+    public void maxDimensionCommitsPerTick(int value) {
+        this.maxDimensionCommitsPerTick = value;
+        this.validate();
+    }
+
+    @Override
+    public void dormantIdleTicks(int value) {
+        this.dormantIdleTicks = value;
+        this.validate();
+    }
+
+    @Override
+    public void idleUnloadTicks(int value) {
+        this.idleUnloadTicks = value;
+        this.validate();
+    }
+
+    @Override
+    public void maxIdleUnloadsPerTick(int value) {
+        this.maxIdleUnloadsPerTick = value;
+        this.validate();
+    }
+
+    @Override
+    public void deletionFilesPerSecond(int value) {
+        this.deletionFilesPerSecond = value;
+        this.validate();
+    }
+
+    @Override
+    public void maxQueueMillisPerTick(int value) {
+        this.maxQueueMillisPerTick = value;
+        this.validate();
+    }
+
+    @Override
+    public void maxQueueOperationsPerTick(int value) {
+        this.maxQueueOperationsPerTick = value;
+        this.validate();
+    }
+
+    @Override
+    public void pregenerationChunksPerTick(int value) {
+        this.pregenerationChunksPerTick = value;
+        this.validate();
+    }
+
+    @Override
+    public void admitPlayersWhilePregenerating(boolean value) {
+        this.admitPlayersWhilePregenerating = value;
+    }
+
+    @Override
+    public void persistDynamicDimensions(boolean value) {
+        this.persistDynamicDimensions = value;
+    }
+
+    @Override
+    public void deferLoadedDimensions(boolean value) {
+        this.deferLoadedDimensions = value;
     }
 
     @Contract(pure = true)
@@ -115,6 +293,17 @@ public final class DynamicDimensionsConfigImpl implements DynamicDimensionsConfi
         return "DynamicDimensionsConfigImpl{" +
                 ", enableCommands=" + enableCommands +
                 ", commandPermissionLevel=" + commandPermissionLevel +
+                ", maxDimensionCommitsPerTick=" + maxDimensionCommitsPerTick +
+                ", dormantIdleTicks=" + dormantIdleTicks +
+                ", idleUnloadTicks=" + idleUnloadTicks +
+                ", maxIdleUnloadsPerTick=" + maxIdleUnloadsPerTick +
+                ", deletionFilesPerSecond=" + deletionFilesPerSecond +
+                ", maxQueueMillisPerTick=" + maxQueueMillisPerTick +
+                ", maxQueueOperationsPerTick=" + maxQueueOperationsPerTick +
+                ", pregenerationChunksPerTick=" + pregenerationChunksPerTick +
+                ", admitPlayersWhilePregenerating=" + admitPlayersWhilePregenerating +
+                ", persistDynamicDimensions=" + persistDynamicDimensions +
+                ", deferLoadedDimensions=" + deferLoadedDimensions +
                 '}';
     }
 }
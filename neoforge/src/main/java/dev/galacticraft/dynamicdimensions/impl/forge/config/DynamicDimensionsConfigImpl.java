@@ -40,6 +40,17 @@ public class DynamicDimensionsConfigImpl implements DynamicDimensionsConfig {
 
     private final @NotNull ModConfigSpec.BooleanValue enableCommands;
     private final @NotNull ModConfigSpec.IntValue commandPermissionLevel;
+    private final @NotNull ModConfigSpec.IntValue maxDimensionCommitsPerTick;
+    private final @NotNull ModConfigSpec.IntValue dormantIdleTicks;
+    private final @NotNull ModConfigSpec.IntValue idleUnloadTicks;
+    private final @NotNull ModConfigSpec.IntValue maxIdleUnloadsPerTick;
+    private final @NotNull ModConfigSpec.IntValue deletionFilesPerSecond;
+    private final @NotNull ModConfigSpec.IntValue maxQueueMillisPerTick;
+    private final @NotNull ModConfigSpec.IntValue maxQueueOperationsPerTick;
+    private final @NotNull ModConfigSpec.IntValue pregenerationChunksPerTick;
+    private final @NotNull ModConfigSpec.BooleanValue admitPlayersWhilePregenerating;
+    private final @NotNull ModConfigSpec.BooleanValue persistDynamicDimensions;
+    private final @NotNull ModConfigSpec.BooleanValue deferLoadedDimensions;
 
     private DynamicDimensionsConfigImpl(@NotNull ModConfigSpec.Builder builder) {
         this.enableCommands = builder
@@ -50,6 +61,50 @@ public class DynamicDimensionsConfigImpl implements DynamicDimensionsConfig {
                 .comment("Set this to true to enable commands")
                 .translation("dynamicdimensions.config.command_permission_level")
                 .defineInRange("command_permission_level", 2, 0, 99);
+        this.maxDimensionCommitsPerTick = builder
+                .comment("The maximum number of asynchronously prepared dimensions to register each tick")
+                .translation("dynamicdimensions.config.max_dimension_commits_per_tick")
+                .defineInRange("max_dimension_commits_per_tick", 2, 1, 1024);
+        this.dormantIdleTicks = builder
+                .comment("The number of ticks a dormant dimension must be unoccupied for before it is unloaded again")
+                .translation("dynamicdimensions.config.dormant_idle_ticks")
+                .defineInRange("dormant_idle_ticks", 1200, 20, Integer.MAX_VALUE);
+        this.idleUnloadTicks = builder
+                .comment("The number of ticks a dynamic dimension must be empty for before it is automatically unloaded (0 to disable)")
+                .translation("dynamicdimensions.config.idle_unload_ticks")
+                .defineInRange("idle_unload_ticks", 0, 0, Integer.MAX_VALUE);
+        this.maxIdleUnloadsPerTick = builder
+                .comment("The maximum number of idle dynamic dimensions to unload each tick")
+                .translation("dynamicdimensions.config.max_idle_unloads_per_tick")
+                .defineInRange("max_idle_unloads_per_tick", 1, 1, 64);
+        this.deletionFilesPerSecond = builder
+                .comment("The maximum number of files per second to delete in the background when a dynamic dimension is deleted")
+                .translation("dynamicdimensions.config.deletion_files_per_second")
+                .defineInRange("deletion_files_per_second", 256, 1, Integer.MAX_VALUE);
+        this.maxQueueMillisPerTick = builder
+                .comment("The maximum number of milliseconds to spend each tick adding, removing and closing dynamic dimensions (remaining work is carried over to the next tick)")
+                .translation("dynamicdimensions.config.max_queue_millis_per_tick")
+                .defineInRange("max_queue_millis_per_tick", 5, 1, 1000);
+        this.maxQueueOperationsPerTick = builder
+                .comment("The maximum number of dynamic dimensions to add, remove or close each tick (remaining work is carried over to the next tick)")
+                .translation("dynamicdimensions.config.max_queue_operations_per_tick")
+                .defineInRange("max_queue_operations_per_tick", 8, 1, 1024);
+        this.pregenerationChunksPerTick = builder
+                .comment("The maximum number of chunks that pre-generation of a dimension requests per tick")
+                .translation("dynamicdimensions.config.pregeneration_chunks_per_tick")
+                .defineInRange("pregeneration_chunks_per_tick", 16, 1, 1024);
+        this.admitPlayersWhilePregenerating = builder
+                .comment("Whether players can be sent to a dimension before its pre-generation has completed")
+                .translation("dynamicdimensions.config.admit_players_while_pregenerating")
+                .define("admit_players_while_pregenerating", false);
+        this.persistDynamicDimensions = builder
+                .comment("Whether dynamic dimensions are saved by the library and loaded again automatically when the server starts")
+                .translation("dynamicdimensions.config.persist_dynamic_dimensions")
+                .define("persist_dynamic_dimensions", false);
+        this.deferLoadedDimensions = builder
+                .comment("Whether dimensions restored when the server starts are registered without loading their levels, which are loaded when first accessed")
+                .translation("dynamicdimensions.config.defer_loaded_dimensions")
+                .define("defer_loaded_dimensions", false);
     }
 
     @Override
@@ -62,6 +117,61 @@ public class DynamicDimensionsConfigImpl implements DynamicDimensionsConfig {
         return this.commandPermissionLevel.get();
     }
 
+    @Override
+    public int maxDimensionCommitsPerTick() {
+        return this.maxDimensionCommitsPerTick.get();
+    }
+
+    @Override
+    public int dormantIdleTicks() {
+        return this.dormantIdleTicks.get();
+    }
+
+    @Override
+    public int idleUnloadTicks() {
+        return this.idleUnloadTicks.get();
+    }
+
+    @Override
+    public int maxIdleUnloadsPerTick() {
+        return this.maxIdleUnloadsPerTick.get();
+    }
+
+    @Override
+    public int deletionFilesPerSecond() {
+        return this.deletionFilesPerSecond.get();
+    }
+
+    @Override
+    public int maxQueueMillisPerTick() {
+        return this.maxQueueMillisPerTick.get();
+    }
+
+    @Override
+    public int maxQueueOperationsPerTick() {
+        return this.maxQueueOperationsPerTick.get();
+    }
+
+    @Override
+    public int pregenerationChunksPerTick() {
+        return this.pregenerationChunksPerTick.get();
+    }
+
+    @Override
+    public boolean admitPlayersWhilePregenerating() {
+        return this.admitPlayersWhilePregenerating.get();
+    }
+
+    @Override
+    public boolean persistDynamicDimensions() {
+        return this.persistDynamicDimensions.get();
+    }
+
+    @Override
+    public boolean deferLoadedDimensions() {
+        return this.deferLoadedDimensions.get();
+    }
+
     @Override
     public void enableCommands(boolean value) {
         this.enableCommands.set(value);
@@ -71,4 +181,59 @@ public class DynamicDimensionsConfigImpl implements DynamicDimensionsConfig {
     public void commandPermissionLevel(int value) {
         this.commandPermissionLevel.set(value);
     }
+
+    @Override
+    public void maxDimensionCommitsPerTick(int value) {
+        this.maxDimensionCommitsPerTick.set(value);
+    }
+
+    @Override
+    public void dormantIdleTicks(int value) {
+        this.dormantIdleTicks.set(value);
+    }
+
+    @Override
+    public void idleUnloadTicks(int value) {
+        this.idleUnloadTicks.set(value);
+    }
+
+    @Override
+    public void maxIdleUnloadsPerTick(int value) {
+        this.maxIdleUnloadsPerTick.set(value);
+    }
+
+    @Override
+    public void deletionFilesPerSecond(int value) {
+        this.deletionFilesPerSecond.set(value);
+    }
+
+    @Override
+    public void maxQueueMillisPerTick(int value) {
+        this.maxQueueMillisPerTick.set(value);
+    }
+
+    @Override
+    public void maxQueueOperationsPerTick(int value) {
+        this.maxQueueOperationsPerTick.set(value);
+    }
+
+    @Override
+    public void pregenerationChunksPerTick(int value) {
+        this.pregenerationChunksPerTick.set(value);
+    }
+
+    @Override
+    public void admitPlayersWhilePregenerating(boolean value) {
+        this.admitPlayersWhilePregenerating.set(value);
+    }
+
+    @Override
+    public void persistDynamicDimensions(boolean value) {
+        this.persistDynamicDimensions.set(value);
+    }
+
+    @Override
+    public void deferLoadedDimensions(boolean value) {
+        this.deferLoadedDimensions.set(value);
+    }
 }
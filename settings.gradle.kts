@@ -15,6 +15,8 @@ rootProject.name = "DynamicDimensions"
 include("common")
 include("fabric")
 include("neoforge")
+include("benchmark")
 project(":common").name = "common"
 project(":fabric").name = "fabric"
 project(":neoforge").name = "neoforge"
+project(":benchmark").name = "benchmark"